@@ -0,0 +1,136 @@
+package com.frauddetection.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+import com.frauddetection.service.AlertJournal;
+import com.frauddetection.simulator.TransactionGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Measures the alert journal without Kafka: appends a week of synthetic
+ * alerts to a temporary directory, reopens it (index rebuild), then times
+ * per-account and per-minute queries.
+ *
+ * Usage: AlertJournalBenchmark [alerts] [accounts] [segmentMB]
+ */
+public class AlertJournalBenchmark {
+
+    private static final long WEEK_MILLIS = Duration.ofDays(7).toMillis();
+    private static final int QUERIES = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int alertCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int segmentBytes = AlertJournal.segmentBytes(args.length > 2 ? Long.parseLong(args[2]) : 64);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        Path directory = Files.createTempDirectory("alert-journal-bench");
+        FraudAlert[] alerts = generate(4096, accounts);
+        long end = System.currentTimeMillis();
+        long start = end - WEEK_MILLIS;
+
+        System.out.printf("Java %s, %,d alerts over 7 days, %,d accounts, %d MB segments, %s%n",
+                System.getProperty("java.version"), alertCount, accounts, segmentBytes / (1024 * 1024), directory);
+        try {
+            long writeStart = System.nanoTime();
+            try (AlertJournal journal = new AlertJournal(directory, segmentBytes, Duration.ofDays(8), objectMapper)) {
+                for (int i = 0; i < alertCount; i++) {
+                    FraudAlert alert = alerts[i % alerts.length];
+                    alert.setAccountId(String.format("ACC%05d", i % accounts)); // every account gets a share
+                    journal.append(alert, start + i * (WEEK_MILLIS / alertCount));
+                }
+            }
+            double writeSeconds = (System.nanoTime() - writeStart) / 1e9;
+            long bytes = directorySize(directory);
+            System.out.printf("append:  %,.0f alerts/s, %,.1f MB/s into %,d MB of segments (JSON included)%n",
+                    alertCount / writeSeconds, bytes / writeSeconds / 1e6, bytes / (1024 * 1024));
+
+            long openStart = System.nanoTime();
+            try (AlertJournal journal = new AlertJournal(directory, segmentBytes, Duration.ofDays(8), objectMapper)) {
+                System.out.printf("reopen:  %,.0f ms to rebuild the index of %,d alerts%n",
+                        (System.nanoTime() - openStart) / 1e6, journal.getAlertCount());
+
+                SplittableRandom random = new SplittableRandom(42);
+                long[] byAccount = new long[QUERIES];
+                long found = 0;
+                for (int i = 0; i < QUERIES; i++) {
+                    String account = String.format("ACC%05d", random.nextInt(accounts));
+                    long t0 = System.nanoTime();
+                    found += journal.findByAccount(account, start, end).size();
+                    byAccount[i] = System.nanoTime() - t0;
+                }
+                report("account, last week", byAccount, found);
+
+                long[] recent = new long[QUERIES];
+                found = 0;
+                for (int i = 0; i < QUERIES; i++) {
+                    String account = String.format("ACC%05d", random.nextInt(accounts));
+                    long t0 = System.nanoTime();
+                    found += journal.findByAccount(account, end - 3_600_000, end).size();
+                    recent[i] = System.nanoTime() - t0;
+                }
+                report("account, last hour", recent, found);
+
+                long[] byTime = new long[QUERIES];
+                found = 0;
+                for (int i = 0; i < QUERIES; i++) {
+                    long from = start + random.nextLong(WEEK_MILLIS - 60_000);
+                    long t0 = System.nanoTime();
+                    found += journal.findByTime(from, from + 60_000, 100).size();
+                    byTime[i] = System.nanoTime() - t0;
+                }
+                report("1-minute range, max 100", byTime, found);
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static FraudAlert[] generate(int count, int accounts) {
+        TransactionGenerator generator = new TransactionGenerator(42, 0, accounts);
+        FraudAlert.SeverityLevel[] severities = FraudAlert.SeverityLevel.values();
+        FraudAlert[] alerts = new FraudAlert[count];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            generator.nextSuspicious();
+            Transaction transaction = generator.toTransaction(now);
+            alerts[i] = new FraudAlert("ALERT-" + i, transaction.getTransactionId(), transaction.getAccountId(),
+                    FraudAlert.FraudType.HIGH_VOLUME, "Suspicious activity detected: High-value transaction.",
+                    severities[i % severities.length], new BigDecimal("0.4"), transaction,
+                    List.of("HIGH_VALUE_TRANSACTION"));
+        }
+        return alerts;
+    }
+
+    private static void report(String query, long[] nanos, long found) {
+        Arrays.sort(nanos);
+        System.out.printf("query %-24s p50 %,7.1f us  p99 %,8.1f us  max %,9.1f us  (%,.1f alerts each)%n", query,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3,
+                nanos[nanos.length - 1] / 1e3, (double) found / nanos.length);
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.frauddetection.bench;
+
+import com.frauddetection.service.AuditLog;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Measures the decision audit log without Kafka. First it runs a short
+ * baseline with one fsync per decision. Then it runs the configured group
+ * commit with several producer threads appending as fast as the queue
+ * accepts, or paced at a fixed total rate. It reports sustained
+ * decisions/s, commits/s, and the latency from append to durable, sampled
+ * from every 64th future. At saturation that latency is mostly queueing;
+ * pace the run to see it at a given load. Finally it reads the files back
+ * to check that every confirmed decision is there.
+ *
+ * Usage: AuditLogBenchmark [seconds] [producers] [lingerMicros] [maxBatch] [decisionsPerSecond, 0 = unpaced]
+ */
+public class AuditLogBenchmark {
+
+    private static final int SAMPLE_EVERY = 64;
+    private static final int MAX_SAMPLES = 1 << 20;
+    private static final int BASELINE_SECONDS = 2;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long lingerMicros = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int maxBatch = args.length > 3 ? Integer.parseInt(args[3]) : 8192;
+        long rate = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        Path directory = Files.createTempDirectory("audit-log-bench");
+        System.out.printf("Java %s, %s%n", System.getProperty("java.version"), directory);
+        try {
+            run("fsync per decision", directory.resolve("baseline"), BASELINE_SECONDS, 1, 0, 1, 0);
+            run(String.format("group commit, %d producers, linger %d us, max batch %,d, %s", producers, lingerMicros,
+                    maxBatch, rate > 0 ? String.format("paced at %,d/s", rate) : "unpaced"),
+                    directory.resolve("group"), seconds, producers, lingerMicros, maxBatch, rate);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void run(String name, Path directory, int seconds, int producers, long lingerMicros,
+            int maxBatch, long rate) throws Exception {
+        long[] samples = new long[MAX_SAMPLES];
+        AtomicLong sampleCount = new AtomicLong();
+        LongAdder confirmed = new LongAdder();
+        long appended;
+        long commits;
+        double elapsed;
+
+        try (AuditLog auditLog = new AuditLog(directory, 256L * 1024 * 1024, maxBatch, lingerMicros, 65536)) {
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+            Thread[] threads = new Thread[producers];
+            LongAdder sent = new LongAdder();
+            long start = System.nanoTime();
+            long nanosPerDecision = rate > 0 ? 1_000_000_000L * producers / rate : 0;
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                threads[p] = new Thread(() -> {
+                    AuditLog.Verdict[] verdicts = AuditLog.Verdict.values();
+                    CompletableFuture<Void> last = null;
+                    long i = 0;
+                    while (System.nanoTime() < end) {
+                        if (nanosPerDecision > 0) {
+                            long due = start + i * nanosPerDecision;
+                            while (System.nanoTime() < due) {
+                                LockSupport.parkNanos(due - System.nanoTime());
+                            }
+                        }
+                        // Mostly clean, the way live traffic is
+                        boolean alert = i % 20 == 0;
+                        AuditLog.Decision decision = new AuditLog.Decision("TX-" + producer + "-" + i,
+                                System.currentTimeMillis(), alert ? 1 << (i % 10) : 0, alert ? 0.6 : 0.0,
+                                alert ? verdicts[1 + (int) (i % 3)] : AuditLog.Verdict.CLEAN, false);
+                        if (i % SAMPLE_EVERY == 0) {
+                            long appendedAt = System.nanoTime();
+                            last = auditLog.append(decision).whenComplete((ignored, error) -> {
+                                long slot = sampleCount.getAndIncrement();
+                                if (error == null && slot < MAX_SAMPLES) {
+                                    samples[(int) slot] = System.nanoTime() - appendedAt;
+                                }
+                            });
+                        } else {
+                            last = auditLog.append(decision);
+                        }
+                        i++;
+                    }
+                    if (last != null) {
+                        last.join(); // commits are in order, so everything from this thread is durable
+                    }
+                    sent.add(i);
+                }, "producer-" + p);
+                threads[p].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            elapsed = (System.nanoTime() - start) / 1e9;
+            appended = sent.sum();
+            commits = auditLog.getCommits();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    AuditLog.read(new BufferedInputStream(in, 1 << 16), decision -> confirmed.increment());
+                }
+            }
+        }
+
+        int sampled = (int) Math.min(sampleCount.get(), MAX_SAMPLES);
+        long[] latencies = Arrays.copyOf(samples, sampled);
+        Arrays.sort(latencies);
+        System.out.printf("%s:%n", name);
+        System.out.printf("  %,.0f decisions/s, %,.0f commits/s, %,.1f decisions per commit%n",
+                appended / elapsed, commits / elapsed, (double) appended / Math.max(1, commits));
+        if (sampled > 0) {
+            System.out.printf("  append to durable p50 %,.0f us  p99 %,.0f us  max %,.0f us%n",
+                    latencies[sampled / 2] / 1e3, latencies[(int) (sampled * 0.99)] / 1e3,
+                    latencies[sampled - 1] / 1e3);
+        }
+        System.out.printf("  read back %,d of %,d decisions%n", confirmed.sum(), appended);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.frauddetection.bench;
+
+import com.frauddetection.engine.FraudDetectionEngine;
+import com.frauddetection.engine.PartitionState;
+import com.frauddetection.model.Transaction;
+import com.frauddetection.simulator.TransactionGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the detection rules alone, without Kafka or JSON: each thread feeds
+ * pre-generated transactions for its own partition into one shared
+ * {@link FraudDetectionEngine}. Also prints how many classes the JVM had to
+ * load, as a rough measure of the engine's footprint.
+ *
+ * Usage: EngineThroughput [seconds] [threads] [accounts]
+ */
+public class EngineThroughput {
+
+    private static final int BATCH = 100_000; // transactions pre-generated per thread, replayed in a loop
+    private static final double SUSPICIOUS_RATIO = 0.001;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int accounts = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        FraudDetectionEngine engine = new FraudDetectionEngine();
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder processed = new LongAdder();
+        LongAdder alerts = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Transaction[] batch = generate(i, accounts);
+            PartitionState state = new PartitionState(i);
+            workers.add(new Thread(() -> {
+                long count = 0;
+                long raised = 0;
+                while (running.get()) {
+                    raised += engine.process(batch[(int) (count % BATCH)], state, System.currentTimeMillis()).size();
+                    count++;
+                }
+                processed.add(count);
+                alerts.add(raised);
+            }, "engine-" + i));
+        }
+
+        long start = System.nanoTime();
+        workers.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Java %s, %d CPUs, %d s, %d threads, %,d accounts%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), seconds, threadCount, accounts);
+        System.out.printf("%,.0f transactions/s, %,.0f alerts/s%n", processed.sum() / elapsed, alerts.sum() / elapsed);
+        System.out.printf("%,d classes loaded%n", ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
+    }
+
+    // Mostly normal trades with a sprinkling of suspicious ones, timestamped now so the rules see live traffic
+    private static Transaction[] generate(int generatorId, int accounts) {
+        TransactionGenerator generator = new TransactionGenerator(42, generatorId, accounts);
+        Transaction[] batch = new Transaction[BATCH];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < BATCH; i++) {
+            if (generator.nextDouble() < SUSPICIOUS_RATIO) {
+                generator.nextSuspicious();
+            } else {
+                generator.nextNormal();
+            }
+            batch[i] = generator.toTransaction(now);
+        }
+        return batch;
+    }
+}
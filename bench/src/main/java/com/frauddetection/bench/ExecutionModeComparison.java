@@ -0,0 +1,166 @@
+package com.frauddetection.bench;
+
+import com.frauddetection.config.ExecutionMode;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.service.AlertDispatcher;
+import com.frauddetection.service.AlertSink;
+import com.frauddetection.service.ServiceMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares platform thread pools with virtual threads for the two blocking
+ * shapes in the system: long-running poll loops (UI consumers, simulator
+ * tasks), side by side, and the service's {@link AlertDispatcher}, in the
+ * mode the JVM was started with (-Dfraud.virtualThreads=true for virtual).
+ * Blocking I/O is simulated with sleeps, so the numbers show scheduling
+ * cost and thread usage, not Kafka speed.
+ *
+ * Usage: ExecutionModeComparison [loopSeconds] [alerts]
+ */
+public class ExecutionModeComparison {
+
+    private static final long POLL_MILLIS = 5;
+    private static final long SINK_IO_MILLIS = 2;
+    private static final int SINKS = 4;
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static int baselineThreads;
+
+    public static void main(String[] args) throws Exception {
+        int loopSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int alerts = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        baselineThreads = threads.getThreadCount();
+
+        System.out.printf("Java %s, %d CPUs%n%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Blocking poll loops (" + POLL_MILLIS + " ms simulated poll, " + loopSeconds + " s)");
+        System.out.printf("%-10s %8s %14s %14s%n", "mode", "loops", "polls/sec", "peak threads");
+        for (int loops : new int[] { 2, 100, 500 }) {
+            runLoops("platform", Executors.newFixedThreadPool(loops), loops, loopSeconds);
+            runLoops("virtual", Executors.newVirtualThreadPerTaskExecutor(), loops, loopSeconds);
+        }
+
+        System.out.println();
+        System.out.println("AlertDispatcher, " + (ExecutionMode.VIRTUAL_THREADS ? "virtual" : "platform")
+                + " threads (" + SINKS + " sinks, " + SINK_IO_MILLIS + " ms simulated I/O, " + alerts + " alerts)");
+        System.out.printf("%-14s %14s %14s %14s %10s %14s%n", "sinks", "dispatch us", "max dispatch",
+                "per sink/sec", "dropped", "peak threads");
+        FraudAlert[] batch = alerts(alerts);
+        runDispatcher("all healthy", batch, false);
+        runDispatcher("one stalled", batch, true);
+    }
+
+    private static void runLoops(String mode, ExecutorService executor, int loops, int seconds) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder polls = new LongAdder();
+        resetPeakThreads();
+        long start = System.nanoTime();
+        for (int i = 0; i < loops; i++) {
+            executor.execute(() -> {
+                while (running.get()) {
+                    sleep(POLL_MILLIS);
+                    polls.increment();
+                }
+            });
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        // Use measured time: with many platform threads the sleep above can overrun noticeably
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long total = polls.sum();
+        int peak = threads.getPeakThreadCount();
+        shutdown(executor);
+        System.out.printf("%-10s %8d %14.0f %14d%n", mode, loops, total / elapsed, peak);
+    }
+
+    // Dispatch runs on the producer I/O thread in the service; each sink drains its own queue serially
+    private static void runDispatcher(String scenario, FraudAlert[] alerts, boolean stallOne) throws Exception {
+        ServiceMetrics metrics = new ServiceMetrics();
+        AlertDispatcher dispatcher = new AlertDispatcher(metrics);
+        CountDownLatch delivered = new CountDownLatch(alerts.length * (stallOne ? SINKS - 1 : SINKS));
+        CountDownLatch stall = new CountDownLatch(1);
+        resetPeakThreads();
+        for (int s = 0; s < SINKS; s++) {
+            dispatcher.register(stallOne && s == 0 ? new SimulatedSink(stall, null) : new SimulatedSink(null, delivered));
+        }
+        long start = System.nanoTime();
+        long maxDispatchNanos = 0;
+        for (FraudAlert alert : alerts) {
+            long dispatchStart = System.nanoTime();
+            dispatcher.dispatch(alert);
+            maxDispatchNanos = Math.max(maxDispatchNanos, System.nanoTime() - dispatchStart);
+        }
+        double dispatchMicros = (System.nanoTime() - start) / 1e3 / alerts.length;
+        delivered.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int peak = threads.getPeakThreadCount();
+        stall.countDown();
+        dispatcher.close();
+        System.out.printf("%-14s %14.2f %14.1f %14.0f %10d %14d%n", scenario, dispatchMicros, maxDispatchNanos / 1e3,
+                alerts.length / seconds, metrics.count("alerts.dropped." + SimulatedSink.class.getSimpleName()), peak);
+    }
+
+    private static FraudAlert[] alerts(int count) {
+        FraudAlert[] alerts = new FraudAlert[count];
+        for (int i = 0; i < count; i++) {
+            alerts[i] = new FraudAlert("ALERT-BENCH-" + i, "TX-BENCH-" + i, "ACC" + (i % 100),
+                    FraudAlert.FraudType.HIGH_VOLUME, "Benchmark alert", FraudAlert.SeverityLevel.MEDIUM,
+                    new BigDecimal("0.4"), null, List.of("HIGH_VALUE_TRANSACTION"));
+        }
+        return alerts;
+    }
+
+    // Sleeps for the simulated I/O, or blocks until released to stand in for a stuck sink
+    private static class SimulatedSink implements AlertSink {
+        private final CountDownLatch stall;
+        private final CountDownLatch delivered;
+
+        SimulatedSink(CountDownLatch stall, CountDownLatch delivered) {
+            this.stall = stall;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void accept(FraudAlert alert) throws InterruptedException {
+            if (stall != null) {
+                stall.await();
+                return;
+            }
+            sleep(SINK_IO_MILLIS);
+            delivered.countDown();
+        }
+    }
+
+    // Let the previous run's platform threads exit so they don't count towards this run's peak
+    private static void resetPeakThreads() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (threads.getThreadCount() > baselineThreads && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        threads.resetPeakThreadCount();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,114 @@
+package com.frauddetection.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frauddetection.model.Transaction;
+import com.frauddetection.simulator.TransactionGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how fast simulated transactions can be generated and serialized,
+ * without Kafka: the previous path (shared Random, UUID IDs, BigDecimal
+ * prices, ObjectMapper) against {@link TransactionGenerator}, by thread count.
+ * The byte[] copy handed to the producer is included in both.
+ *
+ * Usage: GeneratorThroughput [seconds] [maxThreads]
+ */
+public class GeneratorThroughput {
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Java %s, %d CPUs, %d s per run%n%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), seconds);
+        System.out.printf("%-10s %8s %16s %10s %14s%n", "path", "threads", "events/sec", "MB/sec", "bytes alloc/ev");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        Random shared = new Random();
+        for (int n = 1; n <= maxThreads; n *= 2) {
+            run("legacy", n, seconds, id -> () -> legacyEvent(shared, objectMapper));
+            run("generator", n, seconds, id -> {
+                TransactionGenerator generator = new TransactionGenerator(42, id, 10_000);
+                return () -> {
+                    generator.nextNormal();
+                    int length = generator.writeJson(System.currentTimeMillis());
+                    return Arrays.copyOf(generator.buffer(), length);
+                };
+            });
+        }
+    }
+
+    // The simulator's previous per-event work
+    private static byte[] legacyEvent(Random random, ObjectMapper objectMapper) throws Exception {
+        String transactionId = "TXN-" + UUID.randomUUID().toString().substring(0, 8);
+        String accountId = "ACC00" + random.nextInt(10);
+        BigDecimal price = new BigDecimal("175.00").add(new BigDecimal(random.nextGaussian() * 5.0))
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal quantity = new BigDecimal(random.nextInt(1000) + 1);
+        Transaction transaction = new Transaction(transactionId, accountId, "AAPL",
+                random.nextBoolean() ? "BUY" : "SELL", quantity, price, LocalDateTime.now());
+        return objectMapper.writeValueAsString(transaction).getBytes();
+    }
+
+    private static void run(String path, int threadCount, int seconds, EventSourceFactory factory) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder events = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        LongAdder allocated = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            EventSource source = factory.create(i);
+            Thread worker = new Thread(() -> {
+                long count = 0;
+                long size = 0;
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                try {
+                    while (running.get()) {
+                        size += source.next().length;
+                        count++;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                allocated.add(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                events.add(count);
+                bytes.add(size);
+            });
+            workers.add(worker);
+        }
+        long start = System.nanoTime();
+        workers.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %8d %,16.0f %10.1f %14.0f%n", path, threadCount, events.sum() / elapsed,
+                bytes.sum() / elapsed / (1024 * 1024), (double) allocated.sum() / Math.max(1, events.sum()));
+    }
+
+    private interface EventSource {
+        byte[] next() throws Exception;
+    }
+
+    private interface EventSourceFactory {
+        EventSource create(int id);
+    }
+}
@@ -0,0 +1,290 @@
+package com.frauddetection.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.config.KafkaConfig;
+import com.frauddetection.simulator.ScenarioLibrary;
+import com.frauddetection.simulator.ScenarioType;
+import com.frauddetection.simulator.TransactionGenerator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores the running detection service against labelled fraud scenarios.
+ * Background traffic is produced at a fixed rate while the scenario library
+ * is played on reserved accounts; alerts are read back from fraud-alerts and
+ * joined to their scenario through the {@code x-scenario} header.
+ *
+ * Reports, per scenario type: recall, time to detect (scenario start to the
+ * first alert received) and detection latency (alert record time minus the
+ * source record time, from {@code x-source-ts}). Alerts on this run's
+ * transactions without a label count as false positives for precision.
+ *
+ * Needs Kafka and the service running. Usage:
+ * ScenarioAccuracyHarness [backgroundRate] [scenariosPerType] [loadThreads] [scenarioThreads]
+ */
+public class ScenarioAccuracyHarness {
+
+    private static final int BACKGROUND_ACCOUNTS = 10_000;
+    private static final int SCENARIO_ACCOUNTS = 200; // ACC10001 onwards
+    private static final long DRAIN_MILLIS = 30_000;   // wait for late alerts after the last scenario
+
+    private final long backgroundRate;
+    private final int scenariosPerType;
+    private final int loadThreads;
+    private final int scenarioThreads;
+    private final long seed = Long.getLong("fraud.sim.seed", System.nanoTime());
+    private final String runTag = TransactionGenerator.runTag(seed);
+    private final ScenarioLibrary library = new ScenarioLibrary(BACKGROUND_ACCOUNTS, SCENARIO_ACCOUNTS, runTag);
+
+    private final KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(KafkaConfig.getBytesProducerProps());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean loading = new AtomicBoolean(true);
+    private final AtomicBoolean consuming = new AtomicBoolean(true);
+    private final LongAdder backgroundSent = new LongAdder();
+
+    // Ground truth and what came back, by scenario label
+    private final Map<String, Long> scenarioStarts = new ConcurrentHashMap<>();
+    private final Map<String, Long> firstAlertReceived = new ConcurrentHashMap<>();
+    private final Map<String, Long> firstAlertLatency = new ConcurrentHashMap<>();
+    private final LongAdder labelledAlerts = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public ScenarioAccuracyHarness(long backgroundRate, int scenariosPerType, int loadThreads, int scenarioThreads) {
+        this.backgroundRate = backgroundRate;
+        this.scenariosPerType = scenariosPerType;
+        this.loadThreads = loadThreads;
+        this.scenarioThreads = scenarioThreads;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long rate = args.length > 0 ? Long.parseLong(args[0]) : 1_000;
+        int perType = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int loadThreads = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int scenarioThreads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        new ScenarioAccuracyHarness(rate, perType, loadThreads, scenarioThreads).run();
+    }
+
+    public void run() throws Exception {
+        System.out.printf("Run %s (seed %d): %,d events/s background, %d scenarios per type%n",
+                runTag, seed, backgroundRate, scenariosPerType);
+
+        // Subscribe before producing anything, so no alert of this run is missed
+        Properties consumerProps = KafkaConfig.getConsumerProps("scenario-harness-" + UUID.randomUUID());
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(consumerProps);
+        consumer.subscribe(List.of(KafkaConfig.FRAUD_ALERTS_TOPIC, KafkaConfig.FRAUD_ALERTS_PRIORITY_TOPIC));
+        while (consumer.assignment().isEmpty()) {
+            consumer.poll(Duration.ofMillis(100));
+        }
+        Thread alertReader = new Thread(() -> readAlerts(consumer), "harness-alerts");
+        alertReader.start();
+
+        List<Thread> loaders = new ArrayList<>();
+        for (int i = 0; i < loadThreads; i++) {
+            TransactionGenerator generator = new TransactionGenerator(seed, i, BACKGROUND_ACCOUNTS);
+            Thread loader = new Thread(() -> produceBackground(generator, Math.max(1, backgroundRate / loadThreads)),
+                    "harness-load-" + i);
+            loader.start();
+            loaders.add(loader);
+        }
+
+        // Shuffle the schedule so scenario types interleave over the run
+        List<ScenarioType> schedule = new ArrayList<>();
+        for (int i = 0; i < scenariosPerType; i++) {
+            schedule.addAll(Arrays.asList(ScenarioLibrary.LIBRARY));
+        }
+        TransactionGenerator shuffler = new TransactionGenerator(seed, loadThreads, BACKGROUND_ACCOUNTS);
+        for (int i = schedule.size() - 1; i > 0; i--) {
+            int j = shuffler.nextInt(i + 1);
+            schedule.set(i, schedule.set(j, schedule.get(i)));
+        }
+
+        long start = System.nanoTime();
+        List<Thread> players = new ArrayList<>();
+        for (int t = 0; t < scenarioThreads; t++) {
+            // Scenario generators cover background and reserved accounts so reserved indexes are valid
+            TransactionGenerator generator = new TransactionGenerator(seed, loadThreads + 1 + t,
+                    BACKGROUND_ACCOUNTS + SCENARIO_ACCOUNTS);
+            int first = t;
+            Thread player = new Thread(() -> {
+                try {
+                    for (int i = first; i < schedule.size(); i += scenarioThreads) {
+                        playScenario(schedule.get(i), generator);
+                        Thread.sleep(500 + generator.nextInt(1500));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "harness-scenario-" + t);
+            player.start();
+            players.add(player);
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+        double injectSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Injected %d scenarios in %.0f s; draining alerts for %d s...%n",
+                schedule.size(), injectSeconds, DRAIN_MILLIS / 1000);
+
+        Thread.sleep(DRAIN_MILLIS);
+        loading.set(false);
+        for (Thread loader : loaders) {
+            loader.join();
+        }
+        double loadSeconds = (System.nanoTime() - start) / 1e9;
+        consuming.set(false);
+        consumer.wakeup();
+        alertReader.join();
+        producer.close();
+
+        report(backgroundSent.sum() / loadSeconds);
+    }
+
+    private void playScenario(ScenarioType type, TransactionGenerator generator) throws InterruptedException {
+        library.play(type, generator, (g, label) -> {
+            scenarioStarts.putIfAbsent(label, System.currentTimeMillis());
+            send(g, label);
+        });
+    }
+
+    private void produceBackground(TransactionGenerator generator, long threadRate) {
+        long produced = 0;
+        long start = System.nanoTime();
+        try {
+            while (loading.get()) {
+                long due = (long) ((System.nanoTime() - start) / 1e9 * threadRate);
+                if (produced >= due) {
+                    Thread.sleep(1);
+                    continue;
+                }
+                long batchStart = produced;
+                while (produced < due) {
+                    generator.nextNormal();
+                    send(generator, null);
+                    produced++;
+                }
+                backgroundSent.add(produced - batchStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(TransactionGenerator generator, String label) {
+        int length = generator.writeJson(System.currentTimeMillis());
+        ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(KafkaConfig.TRANSACTIONS_TOPIC,
+                generator.accountKey(), Arrays.copyOf(generator.buffer(), length));
+        if (label != null) {
+            record.headers().add(KafkaConfig.SCENARIO_HEADER, label.getBytes(StandardCharsets.UTF_8));
+        }
+        producer.send(record);
+    }
+
+    private void readAlerts(KafkaConsumer<String, String> consumer) {
+        String ownPrefix = "TXN-" + runTag + "-";
+        try {
+            while (consuming.get()) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    long received = System.currentTimeMillis();
+                    Header scenario = record.headers().lastHeader(KafkaConfig.SCENARIO_HEADER);
+                    if (scenario != null) {
+                        String label = new String(scenario.value(), StandardCharsets.UTF_8);
+                        if (!label.contains(":" + runTag + "-")) {
+                            continue; // another run's scenario
+                        }
+                        labelledAlerts.increment();
+                        if (firstAlertReceived.putIfAbsent(label, received) == null) {
+                            Header source = record.headers().lastHeader(KafkaConfig.SOURCE_TIMESTAMP_HEADER);
+                            if (source != null) {
+                                long sourceTs = Long.parseLong(new String(source.value(), StandardCharsets.UTF_8));
+                                firstAlertLatency.put(label, record.timestamp() - sourceTs);
+                            }
+                        }
+                    } else if (ownPrefix.equals(transactionIdPrefix(record.value(), ownPrefix.length()))) {
+                        falsePositives.increment();
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // shutting down
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private String transactionIdPrefix(String alertJson, int length) {
+        try {
+            JsonNode id = objectMapper.readTree(alertJson).get("transactionId");
+            return id != null && id.asText().length() >= length ? id.asText().substring(0, length) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void report(double achievedRate) {
+        Map<ScenarioType, List<String>> byType = new EnumMap<>(ScenarioType.class);
+        scenarioStarts.keySet().forEach(label ->
+                byType.computeIfAbsent(ScenarioLibrary.typeOf(label), t -> new ArrayList<>()).add(label));
+
+        System.out.printf("%nBackground load achieved: %,.0f events/s%n%n", achievedRate);
+        System.out.printf("%-20s %6s %8s %7s %26s %26s%n", "scenario", "played", "detected", "recall",
+                "time to detect p50/p90/p99/max ms", "detection latency p50/p90/p99/max ms");
+        int played = 0;
+        int detected = 0;
+        for (Map.Entry<ScenarioType, List<String>> entry : byType.entrySet()) {
+            List<Long> toDetect = new ArrayList<>();
+            List<Long> latency = new ArrayList<>();
+            for (String label : entry.getValue()) {
+                Long received = firstAlertReceived.get(label);
+                if (received != null) {
+                    toDetect.add(received - scenarioStarts.get(label));
+                    Long l = firstAlertLatency.get(label);
+                    if (l != null) {
+                        latency.add(l);
+                    }
+                }
+            }
+            played += entry.getValue().size();
+            detected += toDetect.size();
+            System.out.printf("%-20s %6d %8d %6.1f%% %26s %26s%n", entry.getKey(), entry.getValue().size(),
+                    toDetect.size(), 100.0 * toDetect.size() / entry.getValue().size(),
+                    percentiles(toDetect), percentiles(latency));
+        }
+        long truePositives = labelledAlerts.sum();
+        System.out.printf("%nOverall recall %.1f%% (%d/%d scenarios)%n", 100.0 * detected / Math.max(1, played),
+                detected, played);
+        System.out.printf("Precision %.1f%% (%d labelled alerts, %d alerts on unlabelled background)%n",
+                100.0 * truePositives / Math.max(1, truePositives + falsePositives.sum()),
+                truePositives, falsePositives.sum());
+    }
+
+    private static String percentiles(List<Long> values) {
+        if (values.isEmpty()) {
+            return "-";
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        return String.format("%d/%d/%d/%d", at(sorted, 0.50), at(sorted, 0.90), at(sorted, 0.99),
+                sorted[sorted.length - 1]);
+    }
+
+    private static long at(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
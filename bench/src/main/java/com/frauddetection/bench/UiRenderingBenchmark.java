@@ -0,0 +1,320 @@
+package com.frauddetection.bench;
+
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+import com.frauddetection.ui.FraudDetectionApp;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Feeds synthetic transactions and alerts into the UI update path at fixed
+ * rates, with no Kafka, and measures what the FX thread does with them:
+ * per-pulse update and layout time, frame gaps (dropped frames), how long a
+ * runLater task waits, the backlog of queued records and heap use.
+ *
+ * Runs headless when started with the Monocle properties (see the
+ * runUiRenderingBenchmark task). Pass -Dfraud.ui.adaptiveDisplay=false to
+ * measure the full-display path without sampling.
+ *
+ * Usage: UiRenderingBenchmark [stepSeconds] [rate ...]
+ */
+public class UiRenderingBenchmark {
+
+    private static final double FRAME_NANOS = 1e9 / 60;
+    private static final double ALERT_RATIO = 0.01;
+    private static final long PROBE_INTERVAL_MILLIS = 10;
+    private static final int WARMUP_SECONDS = 3;
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOGL", "AMZN", "TSLA", "META", "NVDA", "NFLX",
+            "AMD", "INTC", "ORCL", "CRM", "ADBE", "PYPL", "UBER", "SHOP"};
+
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    // Written on the FX thread or the probe thread, read between steps
+    private static final Samples pulseWork = new Samples();
+    private static final Samples layout = new Samples();
+    private static final Samples frameGaps = new Samples();
+    private static final Samples runLaterWaits = new Samples();
+    private static volatile long maxPending;
+    private static volatile long maxHeapBytes;
+
+    public static void main(String[] args) throws Exception {
+        int stepSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int[] rates = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] {1_000, 5_000, 20_000, 50_000, 100_000};
+        System.setProperty("fraud.ui.kafka", "false");
+
+        FraudDetectionApp app = startApp();
+        Workload workload = new Workload(4096);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("UI rendering benchmark, Java %s, JavaFX %s, glass %s, prism %s, adaptive display %s%n",
+                System.getProperty("java.version"), System.getProperty("javafx.runtime.version"),
+                System.getProperty("glass.platform", "default"), System.getProperty("prism.order", "default"),
+                System.getProperty("fraud.ui.adaptiveDisplay", "true")));
+        report.append(String.format("%d s per step, %.0f%% alerts, %d CPUs%n%n", stepSeconds, ALERT_RATIO * 100,
+                Runtime.getRuntime().availableProcessors()));
+        report.append(String.format("%10s %10s %8s %9s %10s %10s %10s %12s %12s %10s %10s %9s%n",
+                "target/s", "fed/s", "fps", "dropped", "work p50", "work p99", "layout p99", "runLater p99",
+                "runLater max", "queued max", "backlog", "heap MB"));
+        report.append("(times in ms; backlog = records still queued 1 s after feeding stops)")
+                .append(System.lineSeparator());
+
+        System.out.printf("Warming up for %d s...%n", WARMUP_SECONDS);
+        runStep(app, workload, rates[0], WARMUP_SECONDS);
+
+        Integer saturatedAt = null;
+        for (int rate : rates) {
+            StepResult result = runStep(app, workload, rate, stepSeconds);
+            String line = result.format();
+            report.append(line).append(System.lineSeparator());
+            System.out.println(line);
+            if (saturatedAt == null && result.isSaturated()) {
+                saturatedAt = rate;
+            }
+        }
+
+        report.append(System.lineSeparator()).append(saturatedAt != null
+                ? "FX thread saturated at " + saturatedAt + " events/s (dropped frames > 10%, runLater p99 > 100 ms "
+                        + "or backlog not draining)"
+                : "FX thread kept up at every tested rate").append(System.lineSeparator());
+        System.out.println();
+        System.out.print(report);
+        writeReport(report.toString());
+
+        Platform.exit();
+        System.exit(0);
+    }
+
+    private static FraudDetectionApp startApp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<FraudDetectionApp> appRef = new AtomicReference<>();
+        Platform.startup(() -> {
+            FraudDetectionApp app = new FraudDetectionApp();
+            Stage stage = new Stage();
+            app.start(stage);
+            instrument(app, stage.getScene());
+            appRef.set(app);
+            started.countDown();
+        });
+        if (!started.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("JavaFX did not start");
+        }
+        return appRef.get();
+    }
+
+    // FX thread: per-pulse timings from a timer plus the scene's layout pulse listeners
+    private static void instrument(FraudDetectionApp app, Scene scene) {
+        long[] layoutStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> layoutStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> layout.add(System.nanoTime() - layoutStart[0]));
+        new AnimationTimer() {
+            private long lastPulse;
+
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) {
+                    frameGaps.add(now - lastPulse);
+                }
+                lastPulse = now;
+                pulseWork.add(app.getLastPulseWorkNanos());
+            }
+        }.start();
+    }
+
+    private static StepResult runStep(FraudDetectionApp app, Workload workload, int rate, int seconds)
+            throws InterruptedException {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("stepSeconds must be positive");
+        }
+        pulseWork.reset();
+        layout.reset();
+        frameGaps.reset();
+        runLaterWaits.reset();
+        maxPending = 0;
+        System.gc();
+        maxHeapBytes = memory.getHeapMemoryUsage().getUsed();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread probe = new Thread(() -> probe(app, running), "ui-bench-probe");
+        probe.setDaemon(true);
+        probe.start();
+
+        // Single feeder thread, paced against the clock in 1 ms slices
+        long fed = 0;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double alertBudget = 0;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            long due = (long) ((now - start) / 1e9 * rate);
+            long wallMillis = System.currentTimeMillis();
+            while (fed < due) {
+                app.ingestTransaction(workload.transaction(fed), wallMillis);
+                alertBudget += ALERT_RATIO;
+                if (alertBudget >= 1) {
+                    alertBudget -= 1;
+                    app.ingestAlert(workload.alert(fed), wallMillis, 5 + fed % 20);
+                }
+                fed++;
+            }
+            Thread.sleep(1);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        long[] gaps = frameGaps.values();
+
+        // Let the FX thread catch up; what is still queued after a second counts as backlog
+        Thread.sleep(1000);
+        long backlog = app.getPendingUpdateCount();
+        running.set(false);
+        probe.join();
+
+        return new StepResult(rate, fed / elapsedSeconds, gaps.length / elapsedSeconds,
+                droppedFrameRatio(gaps), pulseWork.percentile(0.5) / 1e6, pulseWork.percentile(0.99) / 1e6,
+                layout.percentile(0.99) / 1e6, runLaterWaits.percentile(0.99) / 1e6, runLaterWaits.max() / 1e6,
+                Math.max(backlog, 0), maxPending, maxHeapBytes / (1024.0 * 1024.0));
+    }
+
+    // Posts a no-op runLater every 10 ms and records how long it waited; also samples backlog and heap
+    private static void probe(FraudDetectionApp app, AtomicBoolean running) {
+        while (running.get()) {
+            long posted = System.nanoTime();
+            Platform.runLater(() -> runLaterWaits.add(System.nanoTime() - posted));
+            maxPending = Math.max(maxPending, app.getPendingUpdateCount());
+            maxHeapBytes = Math.max(maxHeapBytes, memory.getHeapMemoryUsage().getUsed());
+            try {
+                Thread.sleep(PROBE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Frames a 60 Hz display would have shown but the FX thread did not pulse for
+    private static double droppedFrameRatio(long[] gaps) {
+        long expected = 0;
+        long dropped = 0;
+        for (long gap : gaps) {
+            long frames = Math.max(1, Math.round(gap / FRAME_NANOS));
+            expected += frames;
+            dropped += frames - 1;
+        }
+        return expected == 0 ? 0 : (double) dropped / expected;
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Path dir = Path.of("build", "reports", "ui-rendering");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("ui-rendering-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.writeString(file, report);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    private record StepResult(int targetRate, double fedRate, double framesPerSecond, double droppedRatio,
+            double workP50Millis, double workP99Millis, double layoutP99Millis, double runLaterP99Millis,
+            double runLaterMaxMillis, long backlog, long maxPending, double heapMegabytes) {
+
+        boolean isSaturated() {
+            return droppedRatio > 0.10 || runLaterP99Millis > 100 || backlog > 0;
+        }
+
+        String format() {
+            return String.format("%,10d %,10.0f %8.1f %8.1f%% %10.2f %10.2f %10.2f %12.1f %12.1f %,10d %,10d %9.0f",
+                    targetRate, fedRate, framesPerSecond, droppedRatio * 100, workP50Millis, workP99Millis,
+                    layoutP99Millis, runLaterP99Millis, runLaterMaxMillis, maxPending, backlog, heapMegabytes);
+        }
+    }
+
+    /** Nanosecond samples; appends are synchronized since the probe and FX threads both write. */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized void reset() {
+            size = 0;
+        }
+
+        synchronized long[] values() {
+            return Arrays.copyOf(values, size);
+        }
+
+        synchronized long max() {
+            long max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        synchronized double percentile(double p) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+
+    /** A pool of pre-built records so the feeder measures the UI, not object construction. */
+    private static class Workload {
+        private final Transaction[] transactions;
+        private final FraudAlert[] alerts;
+
+        Workload(int size) {
+            SplittableRandom random = new SplittableRandom(42);
+            transactions = new Transaction[size];
+            alerts = new FraudAlert[size];
+            FraudAlert.FraudType[] types = FraudAlert.FraudType.values();
+            FraudAlert.SeverityLevel[] severities = FraudAlert.SeverityLevel.values();
+            for (int i = 0; i < size; i++) {
+                String account = "ACC" + (100 + random.nextInt(900));
+                BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(500));
+                BigDecimal price = BigDecimal.valueOf(10 + random.nextDouble() * 490).setScale(2, RoundingMode.HALF_UP);
+                transactions[i] = new Transaction("TXN-BENCH-" + i, account, SYMBOLS[random.nextInt(SYMBOLS.length)],
+                        random.nextBoolean() ? "BUY" : "SELL", quantity, price, LocalDateTime.now());
+                alerts[i] = new FraudAlert("ALERT-BENCH-" + i, transactions[i].getTransactionId(), account,
+                        types[random.nextInt(types.length)], "Synthetic benchmark alert",
+                        severities[random.nextInt(severities.length)],
+                        BigDecimal.valueOf(random.nextInt(100), 2), transactions[i], List.of("BENCHMARK"));
+            }
+        }
+
+        Transaction transaction(long n) {
+            return transactions[(int) (n % transactions.length)];
+        }
+
+        FraudAlert alert(long n) {
+            return alerts[(int) (n % alerts.length)];
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.frauddetection.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Chooses between platform thread pools and virtual threads for the
+ * blocking loops (Kafka consumers, simulator tasks, alert sinks).
+ * Enable virtual threads with {@code -Dfraud.virtualThreads=true}.
+ */
+public class ExecutionMode {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionMode.class);
+
+    public static final boolean VIRTUAL_THREADS = Boolean.getBoolean("fraud.virtualThreads");
+
+    // Executor for blocking tasks: one virtual thread per task, or a fixed platform pool
+    public static ExecutorService newBlockingExecutor(String name, int platformThreads) {
+        if (VIRTUAL_THREADS) {
+            logger.info("Using virtual threads for {}", name);
+            return Executors.newThreadPerTaskExecutor(threadFactory(name));
+        }
+        return Executors.newFixedThreadPool(platformThreads, threadFactory(name));
+    }
+
+    // In virtual mode one timer thread starts every run on its own virtual thread, so tasks that sleep don't queue
+    // behind each other; otherwise a platform pool of the given size
+    public static ScheduledExecutorService newScheduledExecutor(String name, int threads) {
+        if (VIRTUAL_THREADS) {
+            logger.info("Using virtual threads for {}", name);
+            return new VirtualThreadScheduler(name);
+        }
+        return Executors.newScheduledThreadPool(threads, threadFactory(name));
+    }
+
+    public static ThreadFactory threadFactory(String name) {
+        if (VIRTUAL_THREADS) {
+            return Thread.ofVirtual().name(name + "-", 0).factory();
+        }
+        return Thread.ofPlatform().name(name + "-", 0).factory();
+    }
+}
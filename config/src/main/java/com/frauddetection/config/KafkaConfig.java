@@ -2,6 +2,8 @@ package com.frauddetection.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
@@ -17,7 +19,14 @@ public class KafkaConfig {
     // Topic names
     public static final String TRANSACTIONS_TOPIC = "transactions";
     public static final String FRAUD_ALERTS_TOPIC = "fraud-alerts";
+    public static final String FRAUD_ALERTS_PRIORITY_TOPIC = "fraud-alerts-priority"; // HIGH/CRITICAL, when enabled
     public static final String VALID_TRANSACTIONS_TOPIC = "valid-transactions";
+    public static final String DASHBOARD_STATS_TOPIC = "fraud-stats"; // per-second counters for dashboards
+
+    // Record headers
+    public static final String SOURCE_TIMESTAMP_HEADER = "x-source-ts"; // source transaction record time, epoch millis
+    public static final String SCENARIO_HEADER = "x-scenario"; // simulator ground truth, "<ScenarioType>:<scenario id>"
+    public static final String SHED_HEADER = "x-shed"; // set while shedding load: lag in millis, only cheap rules applied
     
     public static Properties getConsumerProps(String groupId) {
         logger.debug("Creating Kafka consumer configuration for group: {}", groupId);
@@ -40,6 +49,14 @@ public class KafkaConfig {
         return props;
     }
 
+    // Consumer that leaves keys and values as the raw record bytes
+    public static Properties getBytesConsumerProps(String groupId) {
+        Properties props = getConsumerProps(groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        return props;
+    }
+
     public static Properties getProducerProps() {
         logger.debug("Creating Kafka producer configuration");
         Properties props = new Properties();
@@ -59,4 +76,26 @@ public class KafkaConfig {
         
         return props;
     }
-}
\ No newline at end of file
+
+    // Producer for pre-serialized byte[] keys and values
+    public static Properties getBytesProducerProps() {
+        Properties props = getProducerProps();
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        return props;
+    }
+
+    // Low-latency byte[] producer for urgent alerts: sends at once, leader ack only, small buffer of its own
+    public static Properties getPriorityProducerProps() {
+        Properties props = getBytesProducerProps();
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        props.put(ProducerConfig.ACKS_CONFIG, "1");
+        props.put(ProducerConfig.RETRIES_CONFIG, 3);
+        props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, "50");
+        props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, "5000");
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, "15000");
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 4 * 1024 * 1024);
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, "1000");
+        return props;
+    }
+}
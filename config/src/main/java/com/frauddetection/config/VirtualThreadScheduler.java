@@ -0,0 +1,153 @@
+package com.frauddetection.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled executor for virtual mode. A single platform thread only keeps
+ * time; each run of a task starts on a new virtual thread, so tasks that
+ * sleep never hold up each other. Periodic tasks are rescheduled when a run
+ * finishes, so a task never overlaps itself. For a fixed rate, a late run
+ * starts as soon as the previous one ends.
+ */
+class VirtualThreadScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService workers;
+
+    VirtualThreadScheduler(String name) {
+        timer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name(name + "-timer").daemon().factory());
+        timer.setRemoveOnCancelPolicy(true);
+        timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        workers.execute(command);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return start(new Task<>(Executors.callable(command, null), 0, false), unit.toNanos(delay));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return start(new Task<>(callable, 0, false), unit.toNanos(delay));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return start(new Task<>(Executors.callable(command, null), unit.toNanos(period), true),
+                unit.toNanos(initialDelay));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return start(new Task<>(Executors.callable(command, null), unit.toNanos(delay), false),
+                unit.toNanos(initialDelay));
+    }
+
+    @Override
+    public void shutdown() {
+        timer.shutdown();
+        workers.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>(timer.shutdownNow());
+        pending.addAll(workers.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return timer.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return timer.isTerminated() && workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return timer.awaitTermination(timeout, unit)
+                && workers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private <V> Task<V> start(Task<V> task, long delayNanos) {
+        task.arm(System.nanoTime() + delayNanos);
+        return task;
+    }
+
+    private class Task<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long periodNanos; // 0 for a one-shot task
+        private final boolean fixedRate;
+        private volatile long dueNanos;
+        private volatile ScheduledFuture<?> trigger;
+
+        Task(Callable<V> callable, long periodNanos, boolean fixedRate) {
+            super(callable);
+            this.periodNanos = periodNanos;
+            this.fixedRate = fixedRate;
+        }
+
+        void arm(long dueNanos) {
+            this.dueNanos = dueNanos;
+            try {
+                trigger = timer.schedule(() -> workers.execute(this::runOnce),
+                        dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                cancel(false); // shut down: no further runs
+            }
+        }
+
+        private void runOnce() {
+            if (periodNanos == 0) {
+                run();
+                return;
+            }
+            // A run that throws ends the task, as with ScheduledThreadPoolExecutor
+            if (runAndReset() && !timer.isShutdown()) {
+                arm(fixedRate ? dueNanos + periodNanos : System.nanoTime() + periodNanos);
+            } else if (!isDone()) {
+                cancel(false);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            ScheduledFuture<?> pending = trigger;
+            if (cancelled && pending != null) {
+                pending.cancel(false);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
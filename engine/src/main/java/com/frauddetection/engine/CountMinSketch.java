@@ -0,0 +1,58 @@
+package com.frauddetection.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size frequency sketch. Estimates never undercount; with the default
+ * 4 x 2048 counters the overcount is at most ~0.13% of the total with ~98%
+ * confidence. Not thread-safe; callers guard it.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int widthMask;
+    private final long[][] counters;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two: " + width);
+        }
+        this.depth = depth;
+        this.widthMask = width - 1;
+        this.counters = new long[depth][width];
+    }
+
+    public void add(long hash, long count) {
+        for (int row = 0; row < depth; row++) {
+            counters[row][index(hash, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row][index(hash, row)]);
+        }
+        return min;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        for (long[] row : counters) {
+            Arrays.fill(row, 0L);
+        }
+        total = 0;
+    }
+
+    // Double hashing: row i uses h1 + i * h2
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & widthMask;
+    }
+}
@@ -0,0 +1,431 @@
+package com.frauddetection.engine;
+
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The fraud detection rules, free of Kafka and UI: feed it transactions and
+ * it returns the alerts they raise. Per-account state is passed in with each
+ * call (one {@link PartitionState} per input shard); per-symbol state and the
+ * traffic heavy hitters are held by the engine.
+ *
+ * Calls for the same {@link PartitionState} must not run concurrently.
+ */
+public class FraudDetectionEngine {
+
+    // Fraud detection thresholds
+    private static final BigDecimal HIGH_VALUE_THRESHOLD = new BigDecimal("100000.00");
+    private static final BigDecimal UNUSUAL_VALUE_THRESHOLD = new BigDecimal("50000.00");
+    private static final int RAPID_TRADING_THRESHOLD = 5; // transactions in time window
+    private static final int RAPID_TRADING_WINDOW_MINUTES = 5;
+    private static final LocalTime MARKET_OPEN = LocalTime.of(9, 30);
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+    private static final int COORDINATED_MIN_ACCOUNTS = 4; // distinct accounts, same symbol and side, within ~1.5 s
+    private static final double COORDINATED_BURST_RATIO = 3.0; // ...and at least 3x the symbol's usual count
+    private static final long COORDINATED_QUIET_SECONDS = 60; // only accounts idle this long before the trade count
+    private static final double HEAVY_HITTER_FRACTION = 0.001; // top 0.1% of accounts by rate
+    private static final int QUIET_ACCOUNT_MAX_RECENT = 3; // below what the rapid-trading and pattern rules need
+
+    private final SymbolMarketView marketView = new SymbolMarketView();
+    private final SymbolActivityIndex symbolActivity = new SymbolActivityIndex(COORDINATED_MIN_ACCOUNTS,
+            COORDINATED_BURST_RATIO);
+
+    // Traffic heavy hitters over a sliding minute (6 x 10s intervals), fixed memory
+    private final HeavyHitterTracker accountHitters = new HeavyHitterTracker("accounts", 100, 6, 10_000);
+    private final HeavyHitterTracker symbolHitters = new HeavyHitterTracker("symbols", 50, 6, 10_000);
+
+    // Prefilter: how many transactions it saw and how many it cleared without the rules
+    private final LongAdder prefilterChecked = new LongAdder();
+    private final LongAdder prefilterPassed = new LongAdder();
+    // Rapid-trading window start, refreshed once a second and rounded down (so it never undercounts)
+    private volatile RecentCutoff recentCutoff = new RecentCutoff(Long.MIN_VALUE, LocalDateTime.MIN);
+
+    private record RecentCutoff(long second, LocalDateTime cutoff) {
+    }
+
+    public HeavyHitterTracker getAccountHitters() {
+        return accountHitters;
+    }
+
+    public HeavyHitterTracker getSymbolHitters() {
+        return symbolHitters;
+    }
+
+    public long getPrefilterChecked() {
+        return prefilterChecked.sum();
+    }
+
+    public long getPrefilterPassed() {
+        return prefilterPassed.sum();
+    }
+
+    /**
+     * Records the transaction in the engine's and the account's state and
+     * returns the alerts it raises, empty when it looks legitimate.
+     */
+    public List<FraudAlert> process(Transaction transaction, PartitionState state, long nowMillis) {
+        accountHitters.add(transaction.getAccountId(), nowMillis);
+        symbolHitters.add(transaction.getSymbol(), nowMillis);
+        boolean quiet = wasQuiet(transaction, state);
+
+        // Update transaction history
+        updateTransactionHistory(transaction, state);
+
+        // Market and cross-account state is updated for every trade; what it returns feeds rules 6 and 7
+        double price = transaction.getPrice().doubleValue();
+        SymbolMarketState.Snapshot marketBefore = marketView.record(transaction.getSymbol(), price,
+                transaction.getQuantity().doubleValue(), nowMillis);
+        // Busy accounts trading a popular symbol are the background; a ring moves accounts that were idle
+        SymbolActivityIndex.CoordinatedActivity coordinated = quiet
+                ? symbolActivity.record(transaction.getSymbol(), transaction.getSide(), transaction.getAccountId(),
+                        nowMillis)
+                : null;
+
+        // Most trades can be shown clean without building rule lists and scores
+        prefilterChecked.increment();
+        if (coordinated == null && isObviouslyClean(transaction, state, marketBefore, price, nowMillis)) {
+            prefilterPassed.increment();
+            return List.of();
+        }
+
+        // Apply fraud detection rules
+        return analyzeTransaction(transaction, state, marketBefore, coordinated, nowMillis);
+    }
+
+    /**
+     * Degraded variant of {@link #process} for working through a backlog:
+     * applies only the stateless value and off-hours rules. Account history
+     * and the symbol's market view are still recorded, without pruning or
+     * lookups, so full evaluation can resume on current state.
+     */
+    public List<FraudAlert> processShed(Transaction transaction, PartitionState state, long nowMillis) {
+        accountHitters.add(transaction.getAccountId(), nowMillis);
+        symbolHitters.add(transaction.getSymbol(), nowMillis);
+
+        // Append only; the full path and the periodic cleanup prune it later
+        String accountId = transaction.getAccountId();
+        state.getAccountTransactionHistory().computeIfAbsent(accountId, k -> new ArrayList<>()).add(transaction);
+        state.getLastTransactionTime().put(accountId, transaction.getTimestamp());
+        marketView.record(transaction.getSymbol(), transaction.getPrice().doubleValue(),
+                transaction.getQuantity().doubleValue(), nowMillis);
+
+        List<String> triggeredRules = new ArrayList<>();
+        BigDecimal riskScore = applyValueRule(transaction, triggeredRules)
+                .add(applyOffHoursRule(transaction, triggeredRules));
+        if (triggeredRules.isEmpty()) {
+            return List.of();
+        }
+        List<FraudAlert> alerts = new ArrayList<>();
+        alerts.add(createAlert(transaction, state, triggeredRules, riskScore));
+        return alerts;
+    }
+
+    // No earlier trade from the account, or none in the quiet period before this one
+    private boolean wasQuiet(Transaction transaction, PartitionState state) {
+        LocalDateTime previous = state.getLastTransactionTime().get(transaction.getAccountId());
+        return previous == null || transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC)
+                - previous.toEpochSecond(ZoneOffset.UTC) >= COORDINATED_QUIET_SECONDS;
+    }
+
+    private void updateTransactionHistory(Transaction transaction, PartitionState state) {
+        String accountId = transaction.getAccountId();
+
+        state.getAccountTransactionHistory().computeIfAbsent(accountId, k -> new ArrayList<>()).add(transaction);
+        state.getLastTransactionTime().put(accountId, transaction.getTimestamp());
+
+        // Keep only recent transactions (last hour) to prevent memory leak
+        List<Transaction> accountHistory = state.getAccountTransactionHistory().get(accountId);
+        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
+        accountHistory.removeIf(t -> t.getTimestamp().isBefore(oneHourAgo));
+    }
+
+    /**
+     * True only when none of the rules can fire: an ordinary value, inside
+     * market hours, an unflagged account with too few recent trades for the
+     * rapid-trading or pattern rules, and a price inside the symbol's band.
+     * Allocates nothing.
+     */
+    private boolean isObviouslyClean(Transaction transaction, PartitionState state,
+            SymbolMarketState.Snapshot marketBefore, double price, long nowMillis) {
+        if (transaction.getTotalValue().compareTo(UNUSUAL_VALUE_THRESHOLD) >= 0) {
+            return false;
+        }
+        LocalTime transactionTime = transaction.getTimestamp().toLocalTime();
+        if (transactionTime.isBefore(MARKET_OPEN) || transactionTime.isAfter(MARKET_CLOSE)) {
+            return false;
+        }
+        if (state.getFlaggedAccounts().contains(transaction.getAccountId())) {
+            return false;
+        }
+        if (marketView.isOutsideBand(marketBefore, price)
+                || marketView.isSharpMoveOnThinSymbol(marketBefore, price, nowMillis)) {
+            return false;
+        }
+        return countRecent(state.getAccountTransactionHistory().get(transaction.getAccountId()))
+                <= QUIET_ACCOUNT_MAX_RECENT;
+    }
+
+    // Trades in the rapid-trading window, counting at most one past the quiet limit
+    private int countRecent(List<Transaction> history) {
+        if (history == null) {
+            return 0;
+        }
+        LocalDateTime cutoff = recentCutoff();
+        int recent = 0;
+        for (int i = history.size() - 1; i >= 0 && recent <= QUIET_ACCOUNT_MAX_RECENT; i--) {
+            if (history.get(i).getTimestamp().isAfter(cutoff)) {
+                recent++;
+            }
+        }
+        return recent;
+    }
+
+    private LocalDateTime recentCutoff() {
+        long second = System.currentTimeMillis() / 1000;
+        RecentCutoff current = recentCutoff;
+        if (current.second() != second) {
+            current = new RecentCutoff(second, LocalDateTime.ofInstant(Instant.ofEpochSecond(second),
+                    ZoneId.systemDefault()).minusMinutes(RAPID_TRADING_WINDOW_MINUTES));
+            recentCutoff = current;
+        }
+        return current.cutoff();
+    }
+
+    private List<FraudAlert> analyzeTransaction(Transaction transaction, PartitionState state,
+            SymbolMarketState.Snapshot marketBefore, SymbolActivityIndex.CoordinatedActivity coordinated,
+            long nowMillis) {
+        List<FraudAlert> alerts = new ArrayList<>();
+        List<String> triggeredRules = new ArrayList<>();
+        BigDecimal riskScore = BigDecimal.ZERO;
+
+        // Rule 1: High Value Transaction
+        riskScore = riskScore.add(applyValueRule(transaction, triggeredRules));
+
+        // Rule 2: Rapid Trading Detection
+        List<Transaction> recentTransactions = getRecentTransactions(state, transaction.getAccountId(),
+                RAPID_TRADING_WINDOW_MINUTES);
+        if (recentTransactions.size() >= RAPID_TRADING_THRESHOLD) {
+            triggeredRules.add("RAPID_TRADING");
+            riskScore = riskScore.add(new BigDecimal("0.3"));
+        }
+
+        // Rule 3: Off-Hours Trading
+        riskScore = riskScore.add(applyOffHoursRule(transaction, triggeredRules));
+
+        // Rule 4: Account Pattern Analysis
+        if (analyzeAccountPattern(transaction, recentTransactions)) {
+            triggeredRules.add("SUSPICIOUS_ACCOUNT_PATTERN");
+            riskScore = riskScore.add(new BigDecimal("0.2"));
+        }
+
+        // Rule 5: Previously Flagged Account
+        if (state.getFlaggedAccounts().contains(transaction.getAccountId())) {
+            triggeredRules.add("PREVIOUSLY_FLAGGED_ACCOUNT");
+            riskScore = riskScore.add(new BigDecimal("0.15"));
+        }
+
+        // Rule 6: Price Manipulation (trade far outside the symbol's band, or a sharp move on a thin symbol)
+        double price = transaction.getPrice().doubleValue();
+        if (marketView.isOutsideBand(marketBefore, price)) {
+            triggeredRules.add("PRICE_OUT_OF_BAND");
+            riskScore = riskScore.add(new BigDecimal("0.35"));
+        } else if (marketView.isSharpMoveOnThinSymbol(marketBefore, price, nowMillis)) {
+            triggeredRules.add("THIN_SYMBOL_PRICE_MOVE");
+            riskScore = riskScore.add(new BigDecimal("0.25"));
+        }
+
+        // Rule 8: Heavy Hitter (only strengthens an alert that other rules already raised)
+        if (!triggeredRules.isEmpty() && accountHitters.isInTopFraction(transaction.getAccountId(),
+                HEAVY_HITTER_FRACTION, RAPID_TRADING_THRESHOLD, nowMillis)) {
+            triggeredRules.add("HEAVY_HITTER_ACCOUNT");
+            riskScore = riskScore.add(new BigDecimal("0.1"));
+        }
+
+        // Create fraud alert if rules were triggered
+        if (!triggeredRules.isEmpty()) {
+            alerts.add(createAlert(transaction, state, triggeredRules, riskScore));
+        }
+
+        // Rule 7: Coordinated Trading across accounts (separate alert, lists the participants)
+        if (coordinated != null) {
+            alerts.add(createCoordinatedTradingAlert(transaction, coordinated));
+        }
+
+        return alerts;
+    }
+
+    private BigDecimal applyValueRule(Transaction transaction, List<String> triggeredRules) {
+        if (transaction.getTotalValue().compareTo(HIGH_VALUE_THRESHOLD) >= 0) {
+            triggeredRules.add("HIGH_VALUE_TRANSACTION");
+            return new BigDecimal("0.4");
+        } else if (transaction.getTotalValue().compareTo(UNUSUAL_VALUE_THRESHOLD) >= 0) {
+            triggeredRules.add("UNUSUAL_VALUE_TRANSACTION");
+            return new BigDecimal("0.2");
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private BigDecimal applyOffHoursRule(Transaction transaction, List<String> triggeredRules) {
+        LocalTime transactionTime = transaction.getTimestamp().toLocalTime();
+        if (transactionTime.isBefore(MARKET_OPEN) || transactionTime.isAfter(MARKET_CLOSE)) {
+            triggeredRules.add("OFF_HOURS_TRADING");
+            return new BigDecimal("0.25");
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private FraudAlert createAlert(Transaction transaction, PartitionState state, List<String> triggeredRules,
+            BigDecimal riskScore) {
+        FraudAlert.SeverityLevel severity = determineSeverityLevel(riskScore);
+        FraudAlert.FraudType fraudType = determineFraudType(triggeredRules);
+
+        String description = createAlertDescription(triggeredRules, transaction);
+        String alertId = "ALERT-" + UUID.randomUUID().toString().substring(0, 8);
+
+        FraudAlert alert = new FraudAlert(
+                alertId,
+                transaction.getTransactionId(),
+                transaction.getAccountId(),
+                fraudType,
+                description,
+                severity,
+                riskScore.min(BigDecimal.ONE), // Cap at 1.0
+                transaction,
+                triggeredRules);
+
+        // Flag account if high risk
+        if (riskScore.compareTo(new BigDecimal("0.6")) >= 0) {
+            state.getFlaggedAccounts().add(transaction.getAccountId());
+        }
+        return alert;
+    }
+
+    private FraudAlert createCoordinatedTradingAlert(Transaction transaction,
+            SymbolActivityIndex.CoordinatedActivity coordinated) {
+        String description = String.format(
+                "Coordinated trading: ~%d previously idle accounts %s %s within %.1fs, usually ~%.1f (%s).",
+                coordinated.distinctAccounts(),
+                "BUY".equals(coordinated.side()) ? "buying" : "selling",
+                coordinated.symbol(),
+                coordinated.windowMillis() / 1000.0,
+                coordinated.baselineAccounts(),
+                String.join(", ", coordinated.accounts()));
+        BigDecimal riskScore = new BigDecimal("0.5")
+                .add(new BigDecimal("0.05").multiply(
+                        BigDecimal.valueOf(coordinated.distinctAccounts() - COORDINATED_MIN_ACCOUNTS)))
+                .min(BigDecimal.ONE);
+
+        FraudAlert alert = new FraudAlert(
+                "ALERT-" + UUID.randomUUID().toString().substring(0, 8),
+                transaction.getTransactionId(),
+                transaction.getAccountId(),
+                FraudAlert.FraudType.UNUSUAL_PATTERN,
+                description,
+                determineSeverityLevel(riskScore),
+                riskScore,
+                transaction,
+                new ArrayList<>(List.of("COORDINATED_TRADING")));
+        alert.setRelatedAccounts(coordinated.accounts());
+        return alert;
+    }
+
+    private List<Transaction> getRecentTransactions(PartitionState state, String accountId, int windowMinutes) {
+        List<Transaction> accountHistory = state.getAccountTransactionHistory().get(accountId);
+        if (accountHistory == null || accountHistory.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(windowMinutes);
+        return accountHistory.stream()
+                .filter(t -> t.getTimestamp().isAfter(cutoff))
+                .sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp()))
+                .toList();
+    }
+
+    private boolean analyzeAccountPattern(Transaction current, List<Transaction> recent) {
+        if (recent.size() < 3) {
+            return false;
+        }
+
+        // Check for pump and dump pattern (rapid buy then sell of same symbol)
+        long buyCount = recent.stream().filter(t -> "BUY".equals(t.getSide())).count();
+        long sellCount = recent.stream().filter(t -> "SELL".equals(t.getSide())).count();
+
+        // Unusual trading pattern: all transactions same symbol with rapid buy/sell
+        String currentSymbol = current.getSymbol();
+        boolean allSameSymbol = recent.stream().allMatch(t -> currentSymbol.equals(t.getSymbol()));
+
+        return allSameSymbol && buyCount > 0 && sellCount > 0 && (buyCount + sellCount) >= 4;
+    }
+
+    private FraudAlert.SeverityLevel determineSeverityLevel(BigDecimal riskScore) {
+        if (riskScore.compareTo(new BigDecimal("0.8")) >= 0) {
+            return FraudAlert.SeverityLevel.CRITICAL;
+        } else if (riskScore.compareTo(new BigDecimal("0.6")) >= 0) {
+            return FraudAlert.SeverityLevel.HIGH;
+        } else if (riskScore.compareTo(new BigDecimal("0.3")) >= 0) {
+            return FraudAlert.SeverityLevel.MEDIUM;
+        } else {
+            return FraudAlert.SeverityLevel.LOW;
+        }
+    }
+
+    private FraudAlert.FraudType determineFraudType(List<String> rules) {
+        if (rules.contains("PRICE_OUT_OF_BAND") || rules.contains("THIN_SYMBOL_PRICE_MOVE")) {
+            return FraudAlert.FraudType.PRICE_MANIPULATION;
+        } else if (rules.contains("HIGH_VALUE_TRANSACTION")) {
+            return FraudAlert.FraudType.HIGH_VOLUME;
+        } else if (rules.contains("RAPID_TRADING")) {
+            return FraudAlert.FraudType.RAPID_TRADING;
+        } else if (rules.contains("OFF_HOURS_TRADING")) {
+            return FraudAlert.FraudType.OFF_HOURS_TRADING;
+        } else if (rules.contains("SUSPICIOUS_ACCOUNT_PATTERN")) {
+            return FraudAlert.FraudType.PUMP_AND_DUMP;
+        } else {
+            return FraudAlert.FraudType.UNUSUAL_PATTERN;
+        }
+    }
+
+    private String createAlertDescription(List<String> rules, Transaction transaction) {
+        StringBuilder desc = new StringBuilder("Suspicious activity detected: ");
+
+        if (rules.contains("HIGH_VALUE_TRANSACTION")) {
+            desc.append("High-value transaction ($").append(transaction.getTotalValue()).append("). ");
+        }
+        if (rules.contains("RAPID_TRADING")) {
+            desc.append("Rapid trading pattern detected. ");
+        }
+        if (rules.contains("OFF_HOURS_TRADING")) {
+            desc.append("Trading outside market hours. ");
+        }
+        if (rules.contains("SUSPICIOUS_ACCOUNT_PATTERN")) {
+            desc.append("Suspicious account trading pattern. ");
+        }
+        if (rules.contains("PRICE_OUT_OF_BAND")) {
+            desc.append("Price $").append(transaction.getPrice()).append(" far outside ")
+                    .append(transaction.getSymbol()).append(" trading band. ");
+        }
+        if (rules.contains("THIN_SYMBOL_PRICE_MOVE")) {
+            desc.append("Sharp price move on thinly traded ").append(transaction.getSymbol()).append(". ");
+        }
+        if (rules.contains("HEAVY_HITTER_ACCOUNT")) {
+            desc.append("Account is among the most active by trading rate. ");
+        }
+        if (rules.contains("PREVIOUSLY_FLAGGED_ACCOUNT")) {
+            desc.append("Previously flagged account activity. ");
+        }
+
+        return desc.toString().trim();
+    }
+}
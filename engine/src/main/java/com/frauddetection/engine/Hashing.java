@@ -0,0 +1,28 @@
+package com.frauddetection.engine;
+
+/**
+ * 64-bit string hashing for the probabilistic sketches. {@code String.hashCode}
+ * is only 32 bits and poorly mixed, which skews register and bucket selection.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    public static long hash64(CharSequence value) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return mix(h ^ value.length());
+    }
+
+    // Finalizer from SplitMix64
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
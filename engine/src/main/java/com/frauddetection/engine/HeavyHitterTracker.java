@@ -0,0 +1,232 @@
+package com.frauddetection.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top-K keys by rate over a sliding window, built from a ring
+ * of count-min sketches (one per interval) plus a bounded candidate set.
+ * Memory is fixed by the sketch dimensions and K, regardless of how many
+ * distinct keys are seen. The candidates form an indexed min-heap by count,
+ * so an add finds the weakest in O(1) and updates in O(log K).
+ */
+public class HeavyHitterTracker {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+
+    private final String name;
+    private final int topK;
+    private final long intervalMillis;
+    private final CountMinSketch[] sketches;
+    private final HyperLogLog[] distinct;
+    private final long[] intervalIds;
+    private final HyperLogLog distinctUnion = new HyperLogLog();
+    // Min-heap of candidates by count, with each key's heap position
+    private final String[] heapKeys;
+    private final long[] heapCounts;
+    private final Map<String, Integer> heapIndex = new HashMap<>();
+    private int heapSize;
+    private long currentInterval = Long.MIN_VALUE;
+
+    public HeavyHitterTracker(String name, int topK, int intervals, long intervalMillis) {
+        this.name = name;
+        this.topK = topK;
+        this.intervalMillis = intervalMillis;
+        this.sketches = new CountMinSketch[intervals];
+        this.distinct = new HyperLogLog[intervals];
+        this.intervalIds = new long[intervals];
+        this.heapKeys = new String[topK];
+        this.heapCounts = new long[topK];
+        for (int i = 0; i < intervals; i++) {
+            sketches[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+            distinct[i] = new HyperLogLog();
+            intervalIds[i] = -1;
+        }
+    }
+
+    public synchronized void add(String key, long nowMillis) {
+        advance(nowMillis);
+        long hash = Hashing.hash64(key);
+        int slot = slot(currentInterval);
+        sketches[slot].add(hash, 1);
+        distinct[slot].addHash(hash);
+
+        long estimate = windowEstimate(hash);
+        Integer index = heapIndex.get(key);
+        if (index != null) {
+            heapCounts[index] = estimate;
+            siftDown(index); // counts only grow between refreshes
+        } else if (heapSize < topK) {
+            place(heapSize++, key, estimate);
+            siftUp(heapSize - 1);
+        } else if (estimate > heapCounts[0]) {
+            // Replace the weakest candidate, which this key now beats
+            heapIndex.remove(heapKeys[0]);
+            place(0, key, estimate);
+            siftDown(0);
+        }
+    }
+
+    public synchronized long estimate(String key, long nowMillis) {
+        advance(nowMillis);
+        return windowEstimate(Hashing.hash64(key));
+    }
+
+    public synchronized long totalCount(long nowMillis) {
+        advance(nowMillis);
+        long total = 0;
+        for (int i = 0; i < sketches.length; i++) {
+            if (isLive(i)) {
+                total += sketches[i].total();
+            }
+        }
+        return total;
+    }
+
+    public synchronized long distinctKeys(long nowMillis) {
+        advance(nowMillis);
+        distinctUnion.clear();
+        for (int i = 0; i < distinct.length; i++) {
+            if (isLive(i)) {
+                distinctUnion.merge(distinct[i]);
+            }
+        }
+        return distinctUnion.estimate();
+    }
+
+    /**
+     * True if the key ranks within the top {@code fraction} of distinct keys
+     * seen in the window (e.g. 0.001 for the top 0.1%) and has at least
+     * {@code minCount} events. Ranks beyond K are not tracked and return false.
+     */
+    public synchronized boolean isInTopFraction(String key, double fraction, long minCount, long nowMillis) {
+        Integer index = heapIndex.get(key);
+        if (index == null || heapCounts[index] < minCount) {
+            return false;
+        }
+        long count = heapCounts[index];
+        long rankLimit = Math.max(1, (long) Math.ceil(distinctKeys(nowMillis) * fraction));
+        int higher = 0;
+        for (int i = 0; i < heapSize; i++) {
+            if (heapCounts[i] > count && ++higher >= rankLimit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized List<HeavyHitter> topHitters(int limit, long nowMillis) {
+        advance(nowMillis);
+        List<HeavyHitter> hitters = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            hitters.add(new HeavyHitter(heapKeys[i], heapCounts[i]));
+        }
+        hitters.sort((a, b) -> Long.compare(b.count(), a.count()));
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void advance(long nowMillis) {
+        long interval = nowMillis / intervalMillis;
+        if (interval <= currentInterval) {
+            return;
+        }
+        currentInterval = interval;
+        int slot = slot(interval);
+        if (intervalIds[slot] != interval) {
+            intervalIds[slot] = interval;
+            sketches[slot].clear();
+            distinct[slot].clear();
+            refreshCandidates();
+        }
+    }
+
+    // An interval dropped out of the window: re-estimate and drop keys that went quiet
+    private void refreshCandidates() {
+        int size = 0;
+        heapIndex.clear();
+        for (int i = 0; i < heapSize; i++) {
+            long count = windowEstimate(Hashing.hash64(heapKeys[i]));
+            if (count > 0) {
+                place(size++, heapKeys[i], count);
+            }
+        }
+        for (int i = size; i < heapSize; i++) {
+            heapKeys[i] = null;
+        }
+        heapSize = size;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heapCounts[parent] <= heapCounts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && heapCounts[left] < heapCounts[smallest]) {
+                smallest = left;
+            }
+            if (right < heapSize && heapCounts[right] < heapCounts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = heapKeys[a];
+        long count = heapCounts[a];
+        place(a, heapKeys[b], heapCounts[b]);
+        place(b, key, count);
+    }
+
+    private void place(int index, String key, long count) {
+        heapKeys[index] = key;
+        heapCounts[index] = count;
+        heapIndex.put(key, index);
+    }
+
+    private long windowEstimate(long hash) {
+        long sum = 0;
+        for (int i = 0; i < sketches.length; i++) {
+            if (isLive(i)) {
+                sum += sketches[i].estimate(hash);
+            }
+        }
+        return sum;
+    }
+
+    private boolean isLive(int slot) {
+        return intervalIds[slot] > currentInterval - sketches.length;
+    }
+
+    private int slot(long interval) {
+        return (int) Math.floorMod(interval, (long) sketches.length);
+    }
+
+    public record HeavyHitter(String key, long count) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.frauddetection.engine;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size distinct counter. With 2^10 registers the standard error is
+ * about 3%, in 1 KB, however many distinct keys are added. The harmonic sum
+ * and the number of empty registers are kept up to date as registers grow,
+ * so {@link #estimate} is O(1); {@link #merge} and {@link #clear} are
+ * O(registers). Not thread-safe; callers guard it.
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 10;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1.0 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers = new byte[REGISTER_COUNT];
+    private double inverseSum = REGISTER_COUNT; // sum of 2^-register
+    private int zeros = REGISTER_COUNT;
+
+    public void add(CharSequence value) {
+        addHash(Hashing.hash64(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits, plus one
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        raise(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            raise(i, other.registers[i]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+        inverseSum = REGISTER_COUNT;
+        zeros = REGISTER_COUNT;
+    }
+
+    public long estimate() {
+        double raw = ALPHA * REGISTER_COUNT * REGISTER_COUNT / inverseSum;
+        // Small-range correction: linear counting while many registers are empty
+        if (raw <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            return Math.round(REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    private void raise(int index, byte rank) {
+        byte current = registers[index];
+        if (rank > current) {
+            registers[index] = rank;
+            inverseSum += 1.0 / (1L << rank) - 1.0 / (1L << current);
+            if (current == 0) {
+                zeros--;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.frauddetection.engine;
+
+import com.frauddetection.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-account detection state for the accounts of a single input partition.
+ * Transactions are keyed by account ID, so every account lives in exactly
+ * one partition and its state can move with that partition on rebalance.
+ */
+public class PartitionState {
+
+    private final int partition;
+    private final Map<String, List<Transaction>> accountTransactionHistory = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> lastTransactionTime = new ConcurrentHashMap<>();
+    private final Set<String> flaggedAccounts = ConcurrentHashMap.newKeySet();
+
+    public PartitionState(int partition) {
+        this.partition = partition;
+    }
+
+    public static PartitionState fromSnapshot(Snapshot snapshot) {
+        PartitionState state = new PartitionState(snapshot.partition());
+        snapshot.accountTransactionHistory()
+                .forEach((account, history) -> state.accountTransactionHistory.put(account, new ArrayList<>(history)));
+        state.lastTransactionTime.putAll(snapshot.lastTransactionTime());
+        state.flaggedAccounts.addAll(snapshot.flaggedAccounts());
+        return state;
+    }
+
+    public Snapshot toSnapshot() {
+        Map<String, List<Transaction>> history = new HashMap<>();
+        accountTransactionHistory.forEach((account, transactions) -> history.put(account, new ArrayList<>(transactions)));
+        return new Snapshot(partition, history, new HashMap<>(lastTransactionTime), new HashSet<>(flaggedAccounts),
+                LocalDateTime.now());
+    }
+
+    // Drop history older than the cutoff; returns true when nothing is left
+    public boolean expire(LocalDateTime cutoff) {
+        accountTransactionHistory.entrySet().removeIf(entry -> {
+            List<Transaction> transactions = entry.getValue();
+            transactions.removeIf(t -> t.getTimestamp().isBefore(cutoff));
+            return transactions.isEmpty();
+        });
+        lastTransactionTime.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+        return accountTransactionHistory.isEmpty() && flaggedAccounts.isEmpty();
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public Map<String, List<Transaction>> getAccountTransactionHistory() {
+        return accountTransactionHistory;
+    }
+
+    public Map<String, LocalDateTime> getLastTransactionTime() {
+        return lastTransactionTime;
+    }
+
+    public Set<String> getFlaggedAccounts() {
+        return flaggedAccounts;
+    }
+
+    public record Snapshot(int partition,
+            Map<String, List<Transaction>> accountTransactionHistory,
+            Map<String, LocalDateTime> lastTransactionTime,
+            Set<String> flaggedAccounts,
+            LocalDateTime savedAt) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.frauddetection.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol, time-bucketed index of recent trading activity, used to spot
+ * many accounts hitting the same symbol in the same direction within a
+ * second or so, compared with how many usually do. Each bucket keeps a
+ * HyperLogLog of the accounts seen plus a small sample of account IDs for
+ * the alert, so memory per symbol is fixed no matter how many accounts
+ * trade it. A running union of the window's buckets is rebuilt only when
+ * the window moves on, so recording a trade costs O(1). The baseline is an
+ * EWMA of the distinct accounts per completed window, so a busy symbol
+ * needs a proportionally larger burst; windows that were reported as a
+ * burst are left out of it.
+ */
+public class SymbolActivityIndex {
+
+    private static final long BUCKET_MILLIS = 500;
+    private static final int WINDOW_BUCKETS = 3; // a burst is judged over the last 1-1.5 s
+    private static final double BASELINE_ALPHA = 0.02; // rises with ~25 s of memory at one update per bucket...
+    private static final double BASELINE_ALPHA_DOWN = 0.05; // ...and falls with ~10 s, so a busy spell soon stops hiding bursts
+    private static final int MIN_BASELINE_WINDOWS = 4; // judge nothing until the baseline has 2 s behind it
+    private static final int SAMPLE_ACCOUNTS_PER_BUCKET = 16;
+    private static final int MAX_REPORTED_ACCOUNTS = 25;
+
+    private final long minDistinctAccounts;
+    private final double burstRatio;
+    private final Map<String, SymbolActivity> activity = new ConcurrentHashMap<>();
+
+    /**
+     * @param minDistinctAccounts accounts needed in one window, however quiet the symbol
+     * @param burstRatio how many times its baseline a window must reach
+     */
+    public SymbolActivityIndex(long minDistinctAccounts, double burstRatio) {
+        this.minDistinctAccounts = minDistinctAccounts;
+        this.burstRatio = burstRatio;
+    }
+
+    /**
+     * Records a trade and returns the coordinated activity it completes, or
+     * {@code null} if the symbol/side is still below the threshold (or was
+     * already reported within the current window).
+     */
+    public CoordinatedActivity record(String symbol, String side, String accountId, long nowMillis) {
+        int sideIndex = "SELL".equals(side) ? 1 : 0;
+        return activity.computeIfAbsent(symbol, k -> new SymbolActivity())
+                .record(symbol, sideIndex, accountId, nowMillis, minDistinctAccounts, burstRatio);
+    }
+
+    public int symbolCount() {
+        return activity.size();
+    }
+
+    public record CoordinatedActivity(String symbol, String side, long distinctAccounts, double baselineAccounts,
+            List<String> accounts, long windowMillis) {
+    }
+
+    private static class SymbolActivity {
+        private final long[] bucketIds = new long[2 * WINDOW_BUCKETS];
+        private final HyperLogLog[] sketches = new HyperLogLog[2 * WINDOW_BUCKETS];
+        private final List<Set<String>> samples = new ArrayList<>(2 * WINDOW_BUCKETS);
+        private final long[] lastReportedBucket = { Long.MIN_VALUE / 2, Long.MIN_VALUE / 2 };
+        private final long[] currentBucket = { -1, -1 };
+        private final double[] baseline = new double[2];
+        private final long[] baselineWindows = new long[2];
+        private final HyperLogLog[] windows = { new HyperLogLog(), new HyperLogLog() }; // per side, running union
+
+        SymbolActivity() {
+            for (int i = 0; i < sketches.length; i++) {
+                bucketIds[i] = -1;
+                sketches[i] = new HyperLogLog();
+                samples.add(new LinkedHashSet<>());
+            }
+        }
+
+        synchronized CoordinatedActivity record(String symbol, int side, String accountId, long nowMillis,
+                long minDistinctAccounts, double burstRatio) {
+            long bucketId = nowMillis / BUCKET_MILLIS;
+            int base = side * WINDOW_BUCKETS;
+            if (bucketId > currentBucket[side]) {
+                rotate(side, bucketId);
+            } else if (bucketId < currentBucket[side]) {
+                bucketId = currentBucket[side]; // clock stepped back: count it in the current bucket
+            }
+            int slot = base + (int) (bucketId % WINDOW_BUCKETS);
+            long hash = Hashing.hash64(accountId);
+            sketches[slot].addHash(hash);
+            windows[side].addHash(hash);
+            Set<String> sample = samples.get(slot);
+            if (sample.size() < SAMPLE_ACCOUNTS_PER_BUCKET) {
+                sample.add(accountId);
+            }
+
+            // Don't report the same burst twice within one window
+            if (bucketId - lastReportedBucket[side] < WINDOW_BUCKETS) {
+                return null;
+            }
+
+            if (baselineWindows[side] < MIN_BASELINE_WINDOWS) {
+                return null;
+            }
+            long distinct = windows[side].estimate();
+            if (distinct < minDistinctAccounts || distinct < burstRatio * baseline[side]) {
+                return null;
+            }
+
+            lastReportedBucket[side] = bucketId;
+            long oldestBucket = bucketId - WINDOW_BUCKETS + 1;
+            Set<String> accounts = new LinkedHashSet<>();
+            for (int i = base; i < base + WINDOW_BUCKETS && accounts.size() < MAX_REPORTED_ACCOUNTS; i++) {
+                if (bucketIds[i] >= oldestBucket) {
+                    for (String account : samples.get(i)) {
+                        if (accounts.size() >= MAX_REPORTED_ACCOUNTS) {
+                            break;
+                        }
+                        accounts.add(account);
+                    }
+                }
+            }
+            return new CoordinatedActivity(symbol, side == 1 ? "SELL" : "BUY", distinct, baseline[side],
+                    new ArrayList<>(accounts), WINDOW_BUCKETS * BUCKET_MILLIS);
+        }
+
+        // Moves the side's window on to a new bucket: folds the windows completed since the last trade into the
+        // baseline, then rebuilds the running union from the buckets still in range
+        private void rotate(int side, long bucketId) {
+            long previous = currentBucket[side];
+            currentBucket[side] = bucketId;
+            int base = side * WINDOW_BUCKETS;
+            int slot = base + (int) (bucketId % WINDOW_BUCKETS);
+            bucketIds[slot] = bucketId;
+            sketches[slot].clear();
+            samples.get(slot).clear();
+            HyperLogLog window = windows[side];
+            if (previous >= 0) {
+                // Windows ending in skipped buckets still hold the previous ones until those slide out: count them
+                // as the last window (a little high), and only the rest as empty
+                long skipped = bucketId - previous - 1;
+                long overlapping = 1 + Math.min(skipped, WINDOW_BUCKETS - 1);
+                // A reported burst is left out, so it can't raise the bar for the rest of itself
+                boolean reported = previous - lastReportedBucket[side] < WINDOW_BUCKETS;
+                long distinct = window.estimate();
+                for (long i = 0; i < overlapping; i++) {
+                    baselineWindows[side]++;
+                    if (!reported) {
+                        fold(side, distinct);
+                    }
+                }
+                long empty = skipped - (overlapping - 1);
+                if (empty > 0) {
+                    baseline[side] *= Math.pow(1 - BASELINE_ALPHA_DOWN, Math.min(empty, 10_000));
+                    baselineWindows[side] += empty;
+                }
+            }
+            window.clear();
+            long oldestBucket = bucketId - WINDOW_BUCKETS + 1;
+            for (int i = base; i < base + WINDOW_BUCKETS; i++) {
+                if (i != slot && bucketIds[i] >= oldestBucket) {
+                    window.merge(sketches[i]);
+                }
+            }
+        }
+
+        // A plain running mean until there are enough windows for the EWMA, so it doesn't start from zero
+        private void fold(int side, long distinct) {
+            double alpha = distinct < baseline[side] ? BASELINE_ALPHA_DOWN : BASELINE_ALPHA;
+            baseline[side] += Math.max(alpha, 1.0 / baselineWindows[side]) * (distinct - baseline[side]);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.frauddetection.engine;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rolling market view for a single symbol: time-decayed VWAP and notional,
+ * an exponentially weighted price band and the last traded price.
+ * Updates are a single CAS on an immutable snapshot, so any number of
+ * threads can record trades without locking.
+ */
+public class SymbolMarketState {
+
+    // Decay horizon for VWAP and notional (5 minutes)
+    private static final double DECAY_TAU_MILLIS = 300_000.0;
+    // Weight of the newest trade in the price mean/variance
+    private static final double BAND_ALPHA = 0.05;
+    // Outliers are clamped to this band before updating mean/variance,
+    // so a single manipulated print cannot blow the band open
+    private static final double CLAMP_SIGMAS = 4.0;
+    private static final double CLAMP_MIN_FRACTION = 0.05;
+
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Records a trade and returns the snapshot that was in place before it,
+     * so callers can judge the trade against the market it arrived into.
+     */
+    public Snapshot record(double price, double quantity, long nowMillis) {
+        Snapshot previous;
+        Snapshot next;
+        do {
+            previous = state.get();
+            next = previous.with(price, quantity, nowMillis);
+        } while (!state.compareAndSet(previous, next));
+        return previous;
+    }
+
+    public Snapshot snapshot() {
+        return state.get();
+    }
+
+    public record Snapshot(long tradeCount, double decayedNotional, double decayedVolume,
+            double meanPrice, double priceVariance, double lastPrice, long updatedAtMillis) {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0L);
+
+        Snapshot with(double price, double quantity, long nowMillis) {
+            if (tradeCount == 0) {
+                return new Snapshot(1, price * quantity, quantity, price, 0.0, price, nowMillis);
+            }
+            double decay = decayFactor(nowMillis);
+            double limit = Math.max(CLAMP_SIGMAS * Math.sqrt(priceVariance), meanPrice * CLAMP_MIN_FRACTION);
+            double diff = Math.max(-limit, Math.min(limit, price - meanPrice));
+            double mean = meanPrice + BAND_ALPHA * diff;
+            double variance = (1.0 - BAND_ALPHA) * (priceVariance + BAND_ALPHA * diff * diff);
+            return new Snapshot(
+                    tradeCount + 1,
+                    decayedNotional * decay + price * quantity,
+                    decayedVolume * decay + quantity,
+                    mean,
+                    variance,
+                    price,
+                    Math.max(updatedAtMillis, nowMillis));
+        }
+
+        public double vwap() {
+            return decayedVolume > 0.0 ? decayedNotional / decayedVolume : lastPrice;
+        }
+
+        public double priceStdDev() {
+            return Math.sqrt(priceVariance);
+        }
+
+        // Notional still "in the window" at the given time
+        public double notionalAt(long nowMillis) {
+            return decayedNotional * decayFactor(nowMillis);
+        }
+
+        private double decayFactor(long nowMillis) {
+            long elapsed = nowMillis - updatedAtMillis;
+            return elapsed <= 0 ? 1.0 : Math.exp(-elapsed / DECAY_TAU_MILLIS);
+        }
+    }
+}
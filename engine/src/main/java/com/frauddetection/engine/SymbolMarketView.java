@@ -0,0 +1,54 @@
+package com.frauddetection.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol market state keyed on {@code Transaction.symbol}, plus the
+ * band checks used by the price manipulation rule.
+ */
+public class SymbolMarketView {
+
+    // Trades needed before a symbol's band is trusted
+    private static final long MIN_TRADES_FOR_BAND = 20;
+    private static final double BAND_SIGMAS = 4.0;
+    // Floor on the band width so very stable symbols are not over-flagged
+    private static final double MIN_BAND_FRACTION = 0.05;
+    // A symbol is "thin" when less than this much notional traded recently
+    private static final double THIN_NOTIONAL = 250_000.0;
+    private static final double SHARP_MOVE_FRACTION = 0.20;
+    private static final long MIN_TRADES_FOR_MOVE = 5;
+
+    private final Map<String, SymbolMarketState> states = new ConcurrentHashMap<>();
+
+    public SymbolMarketState.Snapshot record(String symbol, double price, double quantity, long nowMillis) {
+        return states.computeIfAbsent(symbol, k -> new SymbolMarketState()).record(price, quantity, nowMillis);
+    }
+
+    public SymbolMarketState.Snapshot snapshot(String symbol) {
+        SymbolMarketState state = states.get(symbol);
+        return state != null ? state.snapshot() : null;
+    }
+
+    public int symbolCount() {
+        return states.size();
+    }
+
+    public boolean isOutsideBand(SymbolMarketState.Snapshot before, double price) {
+        if (before == null || before.tradeCount() < MIN_TRADES_FOR_BAND) {
+            return false;
+        }
+        double vwap = before.vwap();
+        double width = Math.max(BAND_SIGMAS * before.priceStdDev(), vwap * MIN_BAND_FRACTION);
+        return Math.abs(price - vwap) > width;
+    }
+
+    public boolean isSharpMoveOnThinSymbol(SymbolMarketState.Snapshot before, double price, long nowMillis) {
+        if (before == null || before.tradeCount() < MIN_TRADES_FOR_MOVE || before.lastPrice() <= 0.0) {
+            return false;
+        }
+        boolean thin = before.notionalAt(nowMillis) < THIN_NOTIONAL;
+        double move = Math.abs(price - before.lastPrice()) / before.lastPrice();
+        return thin && move >= SHARP_MOVE_FRACTION;
+    }
+}
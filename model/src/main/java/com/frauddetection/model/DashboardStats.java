@@ -0,0 +1,35 @@
+package com.frauddetection.model;
+
+import java.util.Map;
+
+/**
+ * One second of detection activity as published by a service instance on the
+ * dashboard stats topic. Counts are additive, so a consumer can sum records
+ * for the same second from several instances.
+ *
+ * @param epochSecond  the second the counts cover
+ * @param source       the publishing service instance
+ * @param transactions transactions processed in the second
+ * @param notional     total value of those transactions
+ * @param alerts       alerts generated in the second
+ * @param byRule       triggered rule counts across the generated alerts
+ * @param bySeverity   alert counts per severity
+ * @param byFraudType  alert counts per fraud type
+ * @param bySymbol     the busiest symbols in the second
+ * @param topAccounts  the most active accounts over the trailing minute, busiest first
+ */
+public record DashboardStats(
+        long epochSecond,
+        String source,
+        long transactions,
+        double notional,
+        long alerts,
+        Map<String, Long> byRule,
+        Map<String, Long> bySeverity,
+        Map<String, Long> byFraudType,
+        Map<String, SymbolStats> bySymbol,
+        Map<String, Long> topAccounts) {
+
+    public record SymbolStats(long count, double notional) {
+    }
+}
@@ -28,6 +28,7 @@ public class FraudAlert {
     private Transaction suspiciousTransaction;
     private List<String> triggeredRules;
     private String recommendedAction;
+    private List<String> relatedAccounts; // other accounts involved, for cross-account alerts
 
     // Default constructor for Jackson
     public FraudAlert() {
@@ -148,6 +149,14 @@ public class FraudAlert {
         this.recommendedAction = recommendedAction;
     }
 
+    public List<String> getRelatedAccounts() {
+        return relatedAccounts;
+    }
+
+    public void setRelatedAccounts(List<String> relatedAccounts) {
+        this.relatedAccounts = relatedAccounts;
+    }
+
     public enum FraudType {
         HIGH_VOLUME, RAPID_TRADING, OFF_HOURS_TRADING, PRICE_MANIPULATION,
         UNUSUAL_PATTERN, ACCOUNT_TAKEOVER, PUMP_AND_DUMP
@@ -0,0 +1,109 @@
+package com.frauddetection.service;
+
+import com.frauddetection.config.ExecutionMode;
+import com.frauddetection.model.FraudAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans published alerts out to the registered sinks, off the Kafka
+ * producer I/O thread. Each sink has its own bounded queue and a single
+ * worker thread, virtual or platform depending on {@link ExecutionMode}.
+ * A sink therefore sees alerts one at a time, in publish order. Dispatch
+ * runs in the producer callback and never blocks: when a sink's queue is
+ * full, the alert is dropped for that sink only and counted in
+ * alerts.dropped.&lt;sink&gt;. The alert itself is already on Kafka.
+ */
+public class AlertDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertDispatcher.class);
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final ThreadFactory threadFactory = ExecutionMode.threadFactory("alert-sinks");
+    private final List<SinkWorker> workers = new CopyOnWriteArrayList<>();
+    private final ServiceMetrics metrics;
+    private volatile boolean closed;
+
+    public AlertDispatcher(ServiceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void register(AlertSink sink) {
+        SinkWorker worker = new SinkWorker(sink);
+        workers.add(worker);
+        worker.thread.start();
+    }
+
+    public void dispatch(FraudAlert alert) {
+        for (SinkWorker worker : workers) {
+            if (worker.queue.offer(alert)) {
+                worker.dropping = false;
+                continue;
+            }
+            metrics.increment(worker.droppedMetric);
+            if (!worker.dropping) {
+                worker.dropping = true; // log once per overflow, not once per alert
+                logger.warn("Alert sink {} is {} alerts behind, dropping alerts for it", worker.name, QUEUE_CAPACITY);
+            }
+        }
+    }
+
+    // Delivers what is already queued, for up to 5 seconds in total
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (SinkWorker worker : workers) {
+            try {
+                worker.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.thread.isAlive()) {
+                logger.warn("Alert sink {} still had {} alerts queued at shutdown", worker.name, worker.queue.size());
+                worker.thread.interrupt();
+            }
+        }
+    }
+
+    private class SinkWorker {
+        private final AlertSink sink;
+        private final String name;
+        private final String droppedMetric;
+        private final BlockingQueue<FraudAlert> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final Thread thread;
+        private volatile boolean dropping;
+
+        SinkWorker(AlertSink sink) {
+            this.sink = sink;
+            this.name = sink.getClass().getSimpleName();
+            this.droppedMetric = "alerts.dropped." + name;
+            this.thread = threadFactory.newThread(this::drain);
+        }
+
+        private void drain() {
+            while (!closed || !queue.isEmpty()) {
+                FraudAlert alert;
+                try {
+                    alert = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (alert == null) {
+                    continue;
+                }
+                try {
+                    sink.accept(alert);
+                } catch (Exception e) {
+                    logger.error("Alert sink {} failed for {}", name, alert.getAlertId(), e);
+                }
+            }
+        }
+    }
+}
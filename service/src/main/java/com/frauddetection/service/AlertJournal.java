@@ -0,0 +1,382 @@
+package com.frauddetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.frauddetection.model.FraudAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only local journal of published alerts that can be queried by
+ * account and time. Alerts are appended to fixed-size memory-mapped segment
+ * files (alerts-&lt;n&gt;.log). Each record is
+ * [int length][long appendedAt][short accountLength][account][alert JSON],
+ * and a zero length marks the end of a segment's data.
+ *
+ * The account index and the per-minute time index hold record positions in
+ * memory. They are rebuilt from the record headers on open, without parsing
+ * any JSON. Segments older than the retention are deleted whole. Writes go
+ * to the page cache; a segment is forced to disk when it rolls and on close.
+ */
+public class AlertJournal implements AlertSink, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertJournal.class);
+    private static final String SEGMENT_PREFIX = "alerts-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Short.BYTES;
+    private static final long TIME_BUCKET_MILLIS = 60_000;
+    private static final long RETENTION_CHECK_MILLIS = 60_000;
+    private static final long MAX_SEGMENT_MB = 1024; // one mapping per segment, with int offsets
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long retentionMillis;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader alertReader;
+
+    // Positions are (segment id << 32 | offset), so they sort in append order
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<String, PositionList> byAccount = new HashMap<>();
+    private final TreeMap<Long, Long> byTimeBucket = new TreeMap<>(); // minute -> first position in it
+    private Segment active;
+    private long lastAppendMillis;
+    private long lastRetentionCheck;
+    private long alertCount;
+
+    public AlertJournal(Path directory, int segmentBytes, Duration retention, ObjectMapper objectMapper)
+            throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Journal segments of " + segmentBytes + " bytes cannot hold an alert");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = retention.toMillis();
+        this.objectMapper = objectMapper;
+        this.alertReader = objectMapper.readerFor(FraudAlert.class);
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /** Segment size in bytes for a size in megabytes, which must be between 1 and 1024. */
+    public static int segmentBytes(long megabytes) {
+        if (megabytes < 1 || megabytes > MAX_SEGMENT_MB) {
+            throw new IllegalArgumentException(
+                    "Journal segments must be 1 to " + MAX_SEGMENT_MB + " MB, not " + megabytes);
+        }
+        return (int) (megabytes * 1024 * 1024);
+    }
+
+    private static final class Segment {
+        final int id;
+        final Path file;
+        final MappedByteBuffer buffer;
+        int end;
+        long lastAppendMillis;
+
+        Segment(int id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    @Override
+    public void accept(FraudAlert alert) throws IOException {
+        append(alert, System.currentTimeMillis());
+    }
+
+    public void append(FraudAlert alert, long nowMillis) throws IOException {
+        byte[] account = alert.getAccountId().getBytes(StandardCharsets.UTF_8);
+        byte[] json = objectMapper.writeValueAsBytes(alert);
+        int length = HEADER_BYTES + account.length + json.length;
+        if (length > segmentBytes || account.length > Short.MAX_VALUE) {
+            throw new IOException("Alert " + alert.getAlertId() + " (" + length + " bytes) does not fit a segment");
+        }
+        synchronized (this) {
+            if (active == null || active.end + length > active.buffer.capacity()) {
+                roll();
+            }
+            // Alerts arrive in order, but the wall clock can step back: never let positions and the time index disagree
+            long appendedAt = Math.max(nowMillis, lastAppendMillis);
+            int offset = active.end;
+            MappedByteBuffer buffer = active.buffer;
+            buffer.putLong(offset + Integer.BYTES, appendedAt);
+            buffer.putShort(offset + Integer.BYTES + Long.BYTES, (short) account.length);
+            buffer.put(offset + HEADER_BYTES, account);
+            buffer.put(offset + HEADER_BYTES + account.length, json);
+            // Length last: a record cut short by a crash reads as the end of the segment
+            buffer.putInt(offset, length);
+            active.end += length;
+            index(active, offset, alert.getAccountId(), appendedAt);
+
+            if (appendedAt - lastRetentionCheck >= RETENTION_CHECK_MILLIS) {
+                lastRetentionCheck = appendedAt;
+                expire(appendedAt);
+            }
+        }
+    }
+
+    /** Alerts for the account appended within [fromMillis, toMillis], oldest first. */
+    public synchronized List<FraudAlert> findByAccount(String accountId, long fromMillis, long toMillis)
+            throws IOException {
+        PositionList positions = byAccount.get(accountId);
+        if (positions == null) {
+            return List.of();
+        }
+        long to = positionAfter(toMillis);
+        List<FraudAlert> alerts = new ArrayList<>();
+        for (int i = positions.firstAtOrAfter(positionFrom(fromMillis)); i < positions.size; i++) {
+            long position = positions.values[i];
+            if (position >= to) {
+                break;
+            }
+            FraudAlert alert = readIfWithin(position, fromMillis, toMillis);
+            if (alert != null) {
+                alerts.add(alert);
+            }
+        }
+        return alerts;
+    }
+
+    /** Up to limit alerts appended within [fromMillis, toMillis], oldest first. */
+    public synchronized List<FraudAlert> findByTime(long fromMillis, long toMillis, int limit) throws IOException {
+        List<FraudAlert> alerts = new ArrayList<>();
+        long from = positionFrom(fromMillis);
+        if (from == Long.MAX_VALUE) {
+            return alerts;
+        }
+        long to = positionAfter(toMillis);
+        Map.Entry<Integer, Segment> entry = segments.ceilingEntry(segmentOf(from));
+        int offset = entry != null && entry.getKey() == segmentOf(from) ? offsetOf(from) : 0;
+        // Records are contiguous, so walk them in order until past the range
+        while (entry != null && alerts.size() < limit) {
+            Segment segment = entry.getValue();
+            while (offset < segment.end && alerts.size() < limit) {
+                long position = position(segment.id, offset);
+                if (position >= to) {
+                    return alerts;
+                }
+                FraudAlert alert = readIfWithin(position, fromMillis, toMillis);
+                if (alert != null) {
+                    alerts.add(alert);
+                }
+                offset += segment.buffer.getInt(offset);
+            }
+            entry = segments.higherEntry(segment.id);
+            offset = 0;
+        }
+        return alerts;
+    }
+
+    public synchronized long getAlertCount() {
+        return alertCount;
+    }
+
+    public synchronized int getAccountCount() {
+        return byAccount.size();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (active != null) {
+            active.buffer.force();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        for (Path file : files) {
+            Segment segment = new Segment(segmentId(file), file, map(file, Files.size(file)));
+            segments.put(segment.id, segment);
+        }
+        for (Segment segment : segments.values()) {
+            scan(segment);
+            active = segment;
+        }
+        if (active != null) {
+            logger.info("Alert journal {}: {} alerts for {} accounts in {} segments", directory, alertCount,
+                    byAccount.size(), segments.size());
+        }
+    }
+
+    // Indexes every complete record in the segment from its header alone
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            short accountLength = buffer.getShort(offset + Integer.BYTES + Long.BYTES);
+            if (length < HEADER_BYTES || offset + length > buffer.capacity()
+                    || accountLength < 0 || HEADER_BYTES + accountLength > length) {
+                break;
+            }
+            byte[] account = new byte[accountLength];
+            buffer.get(offset + HEADER_BYTES, account);
+            index(segment, offset, new String(account, StandardCharsets.UTF_8),
+                    buffer.getLong(offset + Integer.BYTES));
+            offset += length;
+        }
+        segment.end = offset;
+    }
+
+    private void index(Segment segment, int offset, String accountId, long appendedAt) {
+        long position = position(segment.id, offset);
+        byAccount.computeIfAbsent(accountId, k -> new PositionList()).add(position);
+        byTimeBucket.putIfAbsent(appendedAt / TIME_BUCKET_MILLIS, position);
+        segment.lastAppendMillis = appendedAt;
+        lastAppendMillis = Math.max(lastAppendMillis, appendedAt);
+        alertCount++;
+    }
+
+    private void roll() throws IOException {
+        int id = 0;
+        if (active != null) {
+            active.buffer.force();
+            id = active.id + 1;
+        }
+        Path file = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        active = new Segment(id, file, map(file, segmentBytes));
+        segments.put(id, active);
+    }
+
+    // Drops whole segments whose newest alert is past the retention; the active one always stays
+    private void expire(long nowMillis) {
+        boolean dropped = false;
+        Iterator<Segment> it = segments.values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            if (segment == active || segment.lastAppendMillis >= nowMillis - retentionMillis) {
+                break;
+            }
+            it.remove();
+            dropped = true;
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                // Windows refuses while the mapping is alive; it goes once the buffer is collected
+                logger.warn("Could not delete expired alert journal segment {}", segment.file, e);
+            }
+        }
+        if (!dropped) {
+            return;
+        }
+        long firstLive = position(segments.firstKey(), 0);
+        // A minute is indexed by its first record; the last one that started in a dropped segment may carry on in a
+        // live one, so it starts at the first live record instead
+        Map.Entry<Long, Long> straddling = null;
+        while (!byTimeBucket.isEmpty() && byTimeBucket.firstEntry().getValue() < firstLive) {
+            straddling = byTimeBucket.pollFirstEntry();
+        }
+        if (straddling != null) {
+            byTimeBucket.put(straddling.getKey(), firstLive);
+        }
+        byAccount.values().removeIf(positions -> positions.dropBefore(firstLive));
+        alertCount = byAccount.values().stream().mapToLong(positions -> positions.size).sum();
+    }
+
+    private FraudAlert readIfWithin(long position, long fromMillis, long toMillis) throws IOException {
+        Segment segment = segments.get(segmentOf(position));
+        if (segment == null) {
+            return null;
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = offsetOf(position);
+        long appendedAt = buffer.getLong(offset + Integer.BYTES);
+        if (appendedAt < fromMillis || appendedAt > toMillis) {
+            return null;
+        }
+        int jsonStart = HEADER_BYTES + buffer.getShort(offset + Integer.BYTES + Long.BYTES);
+        byte[] json = new byte[buffer.getInt(offset) - jsonStart];
+        buffer.get(offset + jsonStart, json);
+        return alertReader.readValue(json);
+    }
+
+    // First position that may hold a record appended at or after the time (bucket-aligned, so filter by time)
+    private long positionFrom(long fromMillis) {
+        Map.Entry<Long, Long> bucket = byTimeBucket.ceilingEntry(fromMillis / TIME_BUCKET_MILLIS);
+        return bucket != null ? bucket.getValue() : Long.MAX_VALUE;
+    }
+
+    // First position certainly appended after the time
+    private long positionAfter(long toMillis) {
+        Map.Entry<Long, Long> bucket = byTimeBucket.higherEntry(toMillis / TIME_BUCKET_MILLIS);
+        return bucket != null ? bucket.getValue() : Long.MAX_VALUE;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static int segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long position(int segment, int offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    /** Growable sorted long[]: one account's record positions in append order. */
+    private static final class PositionList {
+        long[] values = new long[4];
+        int size;
+
+        void add(long position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        int firstAtOrAfter(long position) {
+            int index = Arrays.binarySearch(values, 0, size, position);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        // Removes positions before the given one; true when nothing is left
+        boolean dropBefore(long position) {
+            int from = firstAtOrAfter(position);
+            if (from > 0) {
+                System.arraycopy(values, from, values, 0, size - from);
+                size -= from;
+            }
+            return size == 0;
+        }
+    }
+}
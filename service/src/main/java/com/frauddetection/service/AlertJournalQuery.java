@@ -0,0 +1,49 @@
+package com.frauddetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frauddetection.model.FraudAlert;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Prints the journaled alerts of one account, or of every account, over the
+ * last few days. It opens the same journal directory as the service (see
+ * fraud.journal.dir) and does not write to it.
+ *
+ * Usage: AlertJournalQuery [account|*] [days]
+ */
+public class AlertJournalQuery {
+
+    private static final int MAX_ALL_ACCOUNTS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        String account = args.length > 0 ? args[0] : "*";
+        long days = args.length > 1 ? Long.parseLong(args[1]) : 7;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        Path directory = Path.of(System.getProperty("fraud.journal.dir", "journal/fraud-alerts"));
+        long to = System.currentTimeMillis();
+        long from = to - Duration.ofDays(days).toMillis();
+        // Retention is irrelevant here: expiry only runs on append
+        try (AlertJournal journal = new AlertJournal(directory,
+                AlertJournal.segmentBytes(Long.getLong("fraud.journal.segmentMB", 64)), Duration.ofDays(days),
+                objectMapper)) {
+            long start = System.nanoTime();
+            List<FraudAlert> alerts = "*".equals(account)
+                    ? journal.findByTime(from, to, MAX_ALL_ACCOUNTS)
+                    : journal.findByAccount(account, from, to);
+            double micros = (System.nanoTime() - start) / 1e3;
+
+            for (FraudAlert alert : alerts) {
+                System.out.printf("%s  %-8s %-9s %-22s %s  %s%n", alert.getDetectedAt(), alert.getAccountId(),
+                        alert.getSeverity(), alert.getFraudType(), alert.getAlertId(), alert.getDescription());
+            }
+            System.out.printf("%,d alerts for %s in the last %d days (%,.0f us)%n", alerts.size(),
+                    "*".equals(account) ? "all accounts" : account, days, micros);
+        }
+    }
+}
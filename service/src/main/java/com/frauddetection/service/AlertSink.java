@@ -0,0 +1,14 @@
+package com.frauddetection.service;
+
+import com.frauddetection.model.FraudAlert;
+
+/**
+ * Receives every alert after it has been published to Kafka.
+ * Implementations may block; each sink runs on its own dispatcher thread
+ * and receives alerts one at a time, in publish order. A sink that falls
+ * a full queue behind misses alerts until it catches up.
+ */
+public interface AlertSink {
+
+    void accept(FraudAlert alert) throws Exception;
+}
@@ -0,0 +1,370 @@
+package com.frauddetection.service;
+
+import com.frauddetection.model.FraudAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Durable record of every scoring decision, clean ones included. Callers
+ * enqueue decisions and get a future back. A single writer thread drains the
+ * queue, writes the batch and calls {@link FileChannel#force} once for all
+ * of it (group commit), then completes the batch's futures. A completed
+ * future therefore means the decision is on disk.
+ *
+ * Bounds: a batch holds at most maxBatch decisions, and the writer lingers
+ * up to lingerMicros after the first one to collect more. Zero means commit
+ * whatever arrived during the previous force. When the queue is full,
+ * callers wait up to 10 s for room.
+ *
+ * The first failed write or force fails the log, and so does a decision
+ * that found no room in time. That decision or batch fails, and so do all
+ * queued and later decisions. A later batch that reached disk would
+ * otherwise hide the gap. Decisions still queued when the log closes fail
+ * too.
+ *
+ * Files are audit-&lt;n&gt;.log, rolled by size and never reused. Each record is
+ * [short idLength][transaction ID][long decidedAt][int ruleMask]
+ * [short score x 1000][byte verdict][byte flags]; see {@link #read}.
+ */
+public class AuditLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int FIXED_RECORD_BYTES = Short.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES + 2;
+    private static final byte FLAG_SHED = 1;
+    private static final long ENQUEUE_TIMEOUT_SECONDS = 10;
+
+    // Bit positions are part of the file format: append new rules, never reorder
+    public static final List<String> RULE_BITS = List.of(
+            "HIGH_VALUE_TRANSACTION", "UNUSUAL_VALUE_TRANSACTION", "RAPID_TRADING", "OFF_HOURS_TRADING",
+            "SUSPICIOUS_ACCOUNT_PATTERN", "PREVIOUSLY_FLAGGED_ACCOUNT", "PRICE_OUT_OF_BAND",
+            "THIN_SYMBOL_PRICE_MOVE", "HEAVY_HITTER_ACCOUNT", "COORDINATED_TRADING");
+    private static final int UNKNOWN_RULE_BIT = 31;
+
+    public enum Verdict {
+        CLEAN, MONITOR, MANUAL_REVIEW, BLOCK_TRANSACTION
+    }
+
+    public record Decision(String transactionId, long decidedAtMillis, int ruleMask, double score, Verdict verdict,
+            boolean shed) {
+    }
+
+    private record Pending(Decision decision, CompletableFuture<Void> done) {
+    }
+
+    private final Path directory;
+    private final long fileBytes;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread writer;
+
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+
+    private volatile IOException failure; // the first failure; every later decision fails with it
+    private FileChannel channel;
+    private int fileIndex;
+    private long written;
+
+    public AuditLog(Path directory, long fileBytes, int maxBatch, long lingerMicros, int queueCapacity)
+            throws IOException {
+        this.directory = directory;
+        this.fileBytes = fileBytes;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Files.createDirectories(directory);
+        // Always start a new file: the last one may end in a torn record
+        fileIndex = lastFileIndex(directory) + 1;
+        channel = open(fileIndex);
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<Void> append(Decision decision) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (failure != null) {
+            failures.increment();
+            done.completeExceptionally(failure);
+            return done;
+        }
+        if (closed.get()) {
+            done.completeExceptionally(new IOException("Audit log is closed"));
+            return done;
+        }
+        Pending pending = new Pending(decision, done);
+        try {
+            // Never wait forever: the writer may have died, and the caller is the polling thread
+            if (!queue.offer(pending, ENQUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                fail(new IOException("Audit queue stayed full for " + ENQUEUE_TIMEOUT_SECONDS + " s"));
+                failures.increment();
+                done.completeExceptionally(failure);
+                return done;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done.completeExceptionally(e);
+            return done;
+        }
+        // close() may have run between the check above and the offer, after the writer's last look at the queue
+        if (closed.get() && queue.remove(pending)) {
+            done.completeExceptionally(new IOException("Audit log is closed"));
+        }
+        return done;
+    }
+
+    // The decision for one transaction: the union of its alerts' rules, the top score and the strongest action
+    public CompletableFuture<Void> append(String transactionId, long decidedAtMillis, List<FraudAlert> alerts,
+            boolean shed) {
+        int ruleMask = 0;
+        BigDecimal score = BigDecimal.ZERO;
+        Verdict verdict = Verdict.CLEAN;
+        for (FraudAlert alert : alerts) {
+            if (alert.getTriggeredRules() != null) {
+                for (String rule : alert.getTriggeredRules()) {
+                    ruleMask |= ruleBit(rule);
+                }
+            }
+            if (alert.getRiskScore() != null && alert.getRiskScore().compareTo(score) > 0) {
+                score = alert.getRiskScore();
+            }
+            Verdict alertVerdict = verdictOf(alert.getRecommendedAction());
+            if (alertVerdict.compareTo(verdict) > 0) {
+                verdict = alertVerdict;
+            }
+        }
+        return append(new Decision(transactionId, decidedAtMillis, ruleMask, score.doubleValue(), verdict, shed));
+    }
+
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    // Write plus force time of each batch
+    LatencyHistogram getCommitLatency() {
+        return commitLatency;
+    }
+
+    /** Stops taking decisions, commits everything already queued, and closes the file. */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            logger.warn("Audit log closed with {} decisions uncommitted", left.size());
+            fail(left, new IOException("Audit log is closed"));
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit log {}", directory, e);
+        }
+    }
+
+    /** Reads back every complete record of one audit file, in order. */
+    public static void read(InputStream in, Consumer<Decision> consumer) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        Verdict[] verdicts = Verdict.values();
+        while (true) {
+            try {
+                byte[] id = new byte[data.readUnsignedShort()];
+                data.readFully(id);
+                long decidedAt = data.readLong();
+                int ruleMask = data.readInt();
+                double score = data.readShort() / 1000.0;
+                int verdict = data.readByte();
+                byte flags = data.readByte();
+                consumer.accept(new Decision(new String(id, StandardCharsets.UTF_8), decidedAt, ruleMask, score,
+                        verdicts[verdict], (flags & FLAG_SHED) != 0));
+            } catch (EOFException e) {
+                return; // end of file, or a torn last record
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!closed.get() || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch && System.nanoTime() < deadline) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        if (failure != null) {
+            fail(batch, failure);
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            for (Pending pending : batch) {
+                encode(pending.decision());
+            }
+            flush();
+            channel.force(false);
+            commitLatency.record((System.nanoTime() - started) / 1000);
+            commits.increment();
+            decisions.add(batch.size());
+            for (Pending pending : batch) {
+                pending.done().complete(null);
+            }
+            if (written >= fileBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            fail(e);
+            logger.error("Failed to commit {} audit decisions; failing every later one", batch.size(), e);
+            fail(batch, e);
+        }
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void fail(List<Pending> batch, IOException e) {
+        failures.add(batch.size());
+        for (Pending pending : batch) {
+            pending.done().completeExceptionally(e);
+        }
+    }
+
+    private void encode(Decision decision) throws IOException {
+        byte[] id = decision.transactionId().getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < FIXED_RECORD_BYTES + id.length) {
+            flush();
+        }
+        buffer.putShort((short) id.length);
+        buffer.put(id);
+        buffer.putLong(decision.decidedAtMillis());
+        buffer.putInt(decision.ruleMask());
+        buffer.putShort((short) Math.round(decision.score() * 1000));
+        buffer.put((byte) decision.verdict().ordinal());
+        buffer.put(decision.shed() ? FLAG_SHED : 0);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        channel = open(++fileIndex);
+        written = 0;
+    }
+
+    private FileChannel open(int index) throws IOException {
+        Path file = directory.resolve(String.format("%s%010d%s", FILE_PREFIX, index, FILE_SUFFIX));
+        return FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private static int lastFileIndex(Path directory) throws IOException {
+        int last = -1;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                last = Math.max(last, Integer.parseInt(
+                        name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+            }
+        }
+        return last;
+    }
+
+    private static int ruleBit(String rule) {
+        int bit = RULE_BITS.indexOf(rule);
+        return 1 << (bit >= 0 ? bit : UNKNOWN_RULE_BIT);
+    }
+
+    private static Verdict verdictOf(String recommendedAction) {
+        if (recommendedAction == null) {
+            return Verdict.MONITOR;
+        }
+        return switch (recommendedAction) {
+            case "BLOCK_TRANSACTION" -> Verdict.BLOCK_TRANSACTION;
+            case "MANUAL_REVIEW" -> Verdict.MANUAL_REVIEW;
+            default -> Verdict.MONITOR;
+        };
+    }
+}
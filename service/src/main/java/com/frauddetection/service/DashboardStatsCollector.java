@@ -0,0 +1,105 @@
+package com.frauddetection.service;
+
+import com.frauddetection.engine.HeavyHitterTracker;
+import com.frauddetection.model.DashboardStats;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Accumulates the current second's dashboard counters on the polling thread
+ * and hands back a compact {@link DashboardStats} when the second is over.
+ * Not thread-safe.
+ */
+class DashboardStatsCollector {
+
+    private static final int TOP_SYMBOLS = 20;
+    private static final int TOP_ACCOUNTS = 10;
+
+    private final String source;
+    private final HeavyHitterTracker accountHitters;
+
+    private long currentSecond = Long.MIN_VALUE;
+    private long transactions;
+    private double notional;
+    private long alerts;
+    private final Map<String, Long> byRule = new TreeMap<>();
+    private final Map<String, Long> bySeverity = new TreeMap<>();
+    private final Map<String, Long> byFraudType = new TreeMap<>();
+    private final Map<String, SymbolCounter> bySymbol = new HashMap<>();
+
+    DashboardStatsCollector(String source, HeavyHitterTracker accountHitters) {
+        this.source = source;
+        this.accountHitters = accountHitters;
+    }
+
+    // Call roll() first when the second may have changed, so late records don't land in the old second
+    void record(Transaction transaction, List<FraudAlert> transactionAlerts, long nowMillis) {
+        if (currentSecond == Long.MIN_VALUE) {
+            currentSecond = nowMillis / 1000;
+        }
+        double value = transaction.getTotalValue().doubleValue();
+        transactions++;
+        notional += value;
+        SymbolCounter symbol = bySymbol.computeIfAbsent(transaction.getSymbol(), k -> new SymbolCounter());
+        symbol.count++;
+        symbol.notional += value;
+
+        for (FraudAlert alert : transactionAlerts) {
+            alerts++;
+            bySeverity.merge(alert.getSeverity().name(), 1L, Long::sum);
+            byFraudType.merge(alert.getFraudType().name(), 1L, Long::sum);
+            if (alert.getTriggeredRules() != null) {
+                for (String rule : alert.getTriggeredRules()) {
+                    byRule.merge(rule, 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the finished second's stats once the clock has moved past it,
+     * otherwise null. Seconds without traffic produce nothing.
+     */
+    DashboardStats roll(long nowMillis) {
+        long second = nowMillis / 1000;
+        if (currentSecond == Long.MIN_VALUE || second <= currentSecond) {
+            return null;
+        }
+
+        Map<String, DashboardStats.SymbolStats> symbols = new LinkedHashMap<>();
+        bySymbol.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, SymbolCounter> e) -> e.getValue().count).reversed())
+                .limit(TOP_SYMBOLS)
+                .forEach(e -> symbols.put(e.getKey(),
+                        new DashboardStats.SymbolStats(e.getValue().count, e.getValue().notional)));
+        Map<String, Long> accounts = new LinkedHashMap<>();
+        for (HeavyHitterTracker.HeavyHitter hitter : accountHitters.topHitters(TOP_ACCOUNTS, nowMillis)) {
+            accounts.put(hitter.key(), hitter.count());
+        }
+
+        DashboardStats stats = new DashboardStats(currentSecond, source, transactions, notional, alerts,
+                new TreeMap<>(byRule), new TreeMap<>(bySeverity), new TreeMap<>(byFraudType), symbols, accounts);
+
+        currentSecond = Long.MIN_VALUE;
+        transactions = 0;
+        notional = 0;
+        alerts = 0;
+        byRule.clear();
+        bySeverity.clear();
+        byFraudType.clear();
+        bySymbol.clear();
+        return stats;
+    }
+
+    private static class SymbolCounter {
+        long count;
+        double notional;
+    }
+}
@@ -0,0 +1,63 @@
+package com.frauddetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.engine.PartitionState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Stores one JSON snapshot per topic-partition in a directory. Instances
+ * that share the directory (same host or a shared volume) hand state to
+ * each other through it on rebalance.
+ */
+public class FilePartitionStateStore implements PartitionStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilePartitionStateStore.class);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public FilePartitionStateStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<PartitionState> load(String topic, int partition) {
+        Path file = fileFor(topic, partition);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            PartitionState.Snapshot snapshot = objectMapper.readValue(file.toFile(), PartitionState.Snapshot.class);
+            return Optional.of(PartitionState.fromSnapshot(snapshot));
+        } catch (IOException e) {
+            logger.error("Failed to load state for {}-{} from {}", topic, partition, file, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String topic, PartitionState state) {
+        Path file = fileFor(topic, state.getPartition());
+        try {
+            Files.createDirectories(directory);
+            // Write then rename, so a crash mid-write never leaves a truncated snapshot
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), state.toSnapshot());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Failed to save state for {}-{} to {}", topic, state.getPartition(), file, e);
+        }
+    }
+
+    private Path fileFor(String topic, int partition) {
+        return directory.resolve(topic + "-" + partition + ".json");
+    }
+}
@@ -0,0 +1,546 @@
+package com.frauddetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frauddetection.config.KafkaConfig;
+import com.frauddetection.engine.FraudDetectionEngine;
+import com.frauddetection.engine.HeavyHitterTracker;
+import com.frauddetection.engine.PartitionState;
+import com.frauddetection.model.DashboardStats;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FraudDetectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudDetectionService.class);
+    private static final int WARMUP_TRANSACTIONS = 20_000;
+    // HIGH and CRITICAL alerts go to their own topic instead of fraud-alerts
+    private static final boolean PRIORITY_TOPIC = Boolean.getBoolean("fraud.alerts.priorityTopic");
+    private static final long AUDIT_WAIT_SECONDS = 10;
+    private static final long CLEANUP_INTERVAL_MILLIS = 5 * 60_000;
+
+    // Raw bytes both ways: valid transactions are forwarded exactly as they arrived
+    private final Consumer<byte[], byte[]> consumer;
+    private final Producer<byte[], byte[]> producer;
+    // HIGH and CRITICAL alerts take the priority lane; everything else shares the bulk lane
+    private final ProducerLane bulkLane;
+    private final ProducerLane priorityLane;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    // Fraud detection state: per-account state lives with its input partition,
+    // per-symbol state is local to this instance (inside the engine)
+    private final PartitionStateManager partitionStates;
+    private final FraudDetectionEngine engine = new FraudDetectionEngine();
+    private final HeavyHitterTracker accountHitters = engine.getAccountHitters();
+    private final HeavyHitterTracker symbolHitters = engine.getSymbolHitters();
+    private final ServiceMetrics metrics = new ServiceMetrics();
+    private final LoadShedder loadShedder = new LoadShedder(metrics);
+    private final AlertDispatcher alertDispatcher = new AlertDispatcher(metrics);
+    private final AlertJournal alertJournal; // null unless fraud.journal=true
+    private final AuditLog auditLog; // null unless fraud.audit=true
+    private CompletableFuture<Void> lastAudit; // the current poll batch's last decision; polling thread only
+    private boolean stateAheadOfOffsets; // account state holds records whose offsets weren't committed
+    private final Map<TopicPartition, OffsetAndMetadata> auditedOffsets = new HashMap<>();
+    private long nextCleanupMillis = System.currentTimeMillis() + CLEANUP_INTERVAL_MILLIS; // polling thread only
+    private final DashboardStatsCollector dashboardStats = new DashboardStatsCollector(
+            System.getProperty("fraud.instanceId", ManagementFactory.getRuntimeMXBean().getName()), accountHitters);
+
+    // Startup milestones, in milliseconds since JVM start (-1 until reached)
+    private volatile long readyMillis = -1;
+    private final AtomicLong firstAlertMillis = new AtomicLong(-1);
+
+    public FraudDetectionService() {
+        // fraud.alerts.priorityLane=false sends urgent alerts through the bulk producer, for comparison
+        this(new KafkaConsumer<>(consumerProps()),
+                new KafkaProducer<>(KafkaConfig.getBytesProducerProps()),
+                "false".equalsIgnoreCase(System.getProperty("fraud.alerts.priorityLane"))
+                        ? null
+                        : new KafkaProducer<>(KafkaConfig.getPriorityProducerProps()));
+    }
+
+    private static Properties consumerProps() {
+        Properties props = KafkaConfig.getBytesConsumerProps("fraud-detection-service");
+        if (Boolean.getBoolean("fraud.audit")) {
+            // Offsets are committed by hand, once the batch's decisions are on disk (see commitAudited)
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
+        return props;
+    }
+
+    // Any client pair will do, e.g. the mock clients used for training replays
+    FraudDetectionService(Consumer<byte[], byte[]> consumer, Producer<byte[], byte[]> producer) {
+        this(consumer, producer, null);
+    }
+
+    // A null priority producer makes both lanes share the bulk producer
+    FraudDetectionService(Consumer<byte[], byte[]> consumer, Producer<byte[], byte[]> producer,
+            Producer<byte[], byte[]> priorityProducer) {
+        this.consumer = consumer;
+        this.producer = producer;
+        this.bulkLane = new ProducerLane("bulk", producer, metrics);
+        this.priorityLane = new ProducerLane("priority", priorityProducer != null ? priorityProducer : producer,
+                metrics);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.partitionStates = new PartitionStateManager(KafkaConfig.TRANSACTIONS_TOPIC,
+                new FilePartitionStateStore(Path.of(System.getProperty("fraud.state.dir", "state/fraud-detection-service")),
+                        objectMapper));
+
+        alertDispatcher.register(new LoggingAlertSink());
+        this.alertJournal = openAlertJournal();
+        if (alertJournal != null) {
+            alertDispatcher.register(alertJournal);
+        }
+        this.auditLog = openAuditLog();
+        registerMetrics();
+        Timer metricsTimer = new Timer(true);
+        metricsTimer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                metrics.log();
+            }
+        }, 60000, 60000); // Every minute
+    }
+
+    // fraud.journal=true turns it on; fraud.journal.dir, .segmentMB (64, at most 1024) and .retentionDays (7)
+    // configure it
+    private AlertJournal openAlertJournal() {
+        if (!Boolean.getBoolean("fraud.journal")) {
+            return null;
+        }
+        try {
+            return new AlertJournal(Path.of(System.getProperty("fraud.journal.dir", "journal/fraud-alerts")),
+                    AlertJournal.segmentBytes(Long.getLong("fraud.journal.segmentMB", 64)),
+                    Duration.ofDays(Long.getLong("fraud.journal.retentionDays", 7)), objectMapper);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Failed to open the alert journal, running without it", e);
+            return null;
+        }
+    }
+
+    // fraud.audit=true turns it on; fraud.audit.dir, .fileMB (256), .maxBatch (8192), .lingerMicros (0)
+    // and .queue (65536) configure it
+    private AuditLog openAuditLog() {
+        if (!Boolean.getBoolean("fraud.audit")) {
+            return null;
+        }
+        try {
+            return new AuditLog(Path.of(System.getProperty("fraud.audit.dir", "audit/decisions")),
+                    Long.getLong("fraud.audit.fileMB", 256) * 1024 * 1024,
+                    Integer.getInteger("fraud.audit.maxBatch", 8192),
+                    Long.getLong("fraud.audit.lingerMicros", 0),
+                    Integer.getInteger("fraud.audit.queue", 65536));
+        } catch (IOException e) {
+            // Compliance needs every decision on record: refuse to run without it
+            throw new IllegalStateException("Failed to open the audit log", e);
+        }
+    }
+
+    private void registerMetrics() {
+        metrics.gauge("partitions.owned", () -> partitionStates.ownedStates().size());
+        metrics.gauge("accounts.tracked", () -> partitionStates.ownedStates().stream()
+                .mapToInt(state -> state.getAccountTransactionHistory().size()).sum());
+        metrics.gauge("accounts.flagged", () -> partitionStates.ownedStates().stream()
+                .mapToInt(state -> state.getFlaggedAccounts().size()).sum());
+        metrics.gauge("accounts.distinct.1m", () -> accountHitters.distinctKeys(System.currentTimeMillis()));
+        metrics.gauge("accounts.top", () -> accountHitters.topHitters(10, System.currentTimeMillis()));
+        metrics.gauge("symbols.top", () -> symbolHitters.topHitters(10, System.currentTimeMillis()));
+        metrics.gauge("prefilter.passed", engine::getPrefilterPassed);
+        metrics.gauge("prefilter.passRate", () -> {
+            long checked = engine.getPrefilterChecked();
+            return checked > 0 ? Math.round(1000.0 * engine.getPrefilterPassed() / checked) / 1000.0 : 0.0;
+        });
+        if (alertJournal != null) {
+            metrics.gauge("journal.alerts", alertJournal::getAlertCount);
+            metrics.gauge("journal.segments", alertJournal::getSegmentCount);
+        }
+        if (auditLog != null) {
+            metrics.gauge("audit.decisions", auditLog::getDecisions);
+            metrics.gauge("audit.commits", auditLog::getCommits);
+            metrics.gauge("audit.failures", auditLog::getFailures);
+            metrics.gauge("audit.failed", auditLog::isFailed);
+            metrics.gauge("audit.queued", auditLog::getQueued);
+            metrics.gauge("audit.commitMicros.p50", () -> auditLog.getCommitLatency().percentile(0.50));
+            metrics.gauge("audit.commitMicros.p99", () -> auditLog.getCommitLatency().percentile(0.99));
+        }
+        metrics.gauge("startup.readyMillis", () -> readyMillis);
+        metrics.gauge("startup.firstAlertMillis", firstAlertMillis::get);
+    }
+
+    public ServiceMetrics getMetrics() {
+        return metrics;
+    }
+
+    public FraudDetectionEngine getEngine() {
+        return engine;
+    }
+
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+
+    public long getFirstAlertMillis() {
+        return firstAlertMillis.get();
+    }
+
+    public HeavyHitterTracker getAccountHitters() {
+        return accountHitters;
+    }
+
+    public HeavyHitterTracker getSymbolHitters() {
+        return symbolHitters;
+    }
+
+    public AlertDispatcher getAlertDispatcher() {
+        return alertDispatcher;
+    }
+
+    public AlertJournal getAlertJournal() {
+        return alertJournal;
+    }
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public void start() {
+        logger.info("Starting Fraud Detection Service...");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+
+        // Optionally compile the hot path before taking partitions, so a failover backlog isn't met by the interpreter
+        if (Boolean.getBoolean("fraud.warmup")) {
+            warmUp();
+        }
+
+        // Subscribe to transactions topic; the listener hands account state over on rebalance
+        consumer.subscribe(Collections.singletonList(KafkaConfig.TRANSACTIONS_TOPIC), partitionStates);
+
+        while (running.get()) {
+            ConsumerRecords<byte[], byte[]> records = ConsumerRecords.empty();
+            try {
+                records = consumer.poll(Duration.ofMillis(1000));
+                if (readyMillis < 0 && !consumer.assignment().isEmpty()) {
+                    readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+                    logger.info("Ready {} ms after JVM start", readyMillis);
+                }
+
+                // Too far behind: run only the cheap rules until caught up
+                boolean shed = loadShedder.update(System.currentTimeMillis(), oldestTimestamp(records), queuedRecords());
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    processTransaction(record, partitionStates.stateFor(record.partition()), shed);
+                }
+                if (auditLog != null && !commitAudited(records)) {
+                    stateAheadOfOffsets = true;
+                    running.set(false);
+                    break;
+                }
+                publishDashboardStats(System.currentTimeMillis());
+                cleanupOldTransactionHistory(System.currentTimeMillis());
+
+            } catch (WakeupException e) {
+                logger.info("Consumer woken up for shutdown");
+            } catch (Exception e) {
+                logger.error("Error processing transactions", e);
+                if (auditLog != null && !records.isEmpty()) {
+                    // Part of the batch is already in account state and can't be taken out again, so neither
+                    // retry it nor carry on past it: stop, and let a restart replay it from the committed offsets
+                    stateAheadOfOffsets = true;
+                    running.set(false);
+                }
+                if (!running.get()) {
+                    break;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        try {
+            // Close from the polling thread: flush owned state, then leave the group. State that holds
+            // uncommitted records is dropped instead, or the replay after a restart would apply them twice.
+            if (stateAheadOfOffsets) {
+                partitionStates.discardAll();
+            } else {
+                partitionStates.flushAll();
+            }
+            consumer.close();
+            producer.close();
+            if (priorityLane.getProducer() != producer) {
+                priorityLane.getProducer().close();
+            }
+            alertDispatcher.close();
+            if (alertJournal != null) {
+                alertJournal.close();
+            }
+            if (auditLog != null) {
+                auditLog.close();
+            }
+        } finally {
+            stopped.countDown();
+        }
+        logger.info("Fraud Detection Service stopped.");
+    }
+
+    // fraud.warmup.recording: transactions to replay (default: synthetic); fraud.warmup.maxSeconds: cap (default 30)
+    private void warmUp() {
+        try {
+            String recording = System.getProperty("fraud.warmup.recording");
+            List<byte[]> transactions = recording != null
+                    ? ServiceWarmup.recorded(Path.of(recording), WARMUP_TRANSACTIONS)
+                    : ServiceWarmup.synthetic(objectMapper, WARMUP_TRANSACTIONS);
+            if (transactions.isEmpty()) {
+                logger.warn("Warm-up skipped: no transactions in {}", recording);
+                return;
+            }
+            logger.info("Warming up on {} {} transactions...", transactions.size(),
+                    recording != null ? "recorded" : "synthetic");
+            ServiceWarmup.Result result = new ServiceWarmup(objectMapper, transactions)
+                    .run(Long.getLong("fraud.warmup.maxSeconds", 30) * 1000);
+            metrics.gauge("warmup.durationMillis", result::durationMillis);
+            metrics.gauge("warmup.transactions", result::transactions);
+            metrics.gauge("warmup.steadyRate", () -> Math.round(result.steadyRate()));
+            metrics.gauge("warmup.stabilized", result::stabilized);
+            logger.info("Warm-up {} after {} ms and {} transactions; steady rate {}/s",
+                    result.stabilized() ? "stabilized" : "hit its time limit", result.durationMillis(),
+                    result.transactions(), String.format("%,.0f", result.steadyRate()));
+        } catch (Exception e) {
+            logger.warn("Warm-up failed, joining without it", e);
+        }
+    }
+
+    private long oldestTimestamp(ConsumerRecords<byte[], byte[]> records) {
+        long oldest = System.currentTimeMillis();
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            oldest = Math.min(oldest, record.timestamp());
+        }
+        return oldest;
+    }
+
+    // Records between the fetch positions and the log end, from the consumer's cached fetch metadata
+    private long queuedRecords() {
+        long queued = 0;
+        for (TopicPartition partition : consumer.assignment()) {
+            queued += consumer.currentLag(partition).orElse(0);
+        }
+        return queued;
+    }
+
+    private void processTransaction(ConsumerRecord<byte[], byte[]> record, PartitionState state, boolean shed) {
+        byte[] transactionJson = record.value();
+        try {
+            Transaction transaction = objectMapper.readValue(transactionJson, Transaction.class);
+            logger.debug("Processing transaction: {}", transaction.getTransactionId());
+            metrics.increment("transactions.processed");
+
+            long nowMillis = System.currentTimeMillis();
+            publishDashboardStats(nowMillis);
+
+            // Update state and apply the fraud detection rules
+            List<FraudAlert> alerts;
+            if (shed) {
+                alerts = engine.processShed(transaction, state, nowMillis);
+                metrics.increment("shed.records");
+            } else {
+                alerts = engine.process(transaction, state, nowMillis);
+            }
+            dashboardStats.record(transaction, alerts, nowMillis);
+            if (auditLog != null) {
+                lastAudit = auditLog.append(transaction.getTransactionId(), nowMillis, alerts, shed);
+            }
+
+            if (!alerts.isEmpty()) {
+                // Transaction is suspicious
+                for (FraudAlert alert : alerts) {
+                    sendFraudAlert(alert, record, shed);
+                }
+                metrics.add("alerts.generated", alerts.size());
+                logger.warn("Fraud detected for transaction {}: {} alerts generated",
+                        transaction.getTransactionId(), alerts.size());
+            } else {
+                // Transaction is valid
+                sendValidTransaction(record, shed);
+                logger.debug("Transaction {} validated as legitimate", transaction.getTransactionId());
+            }
+
+        } catch (Exception e) {
+            logger.error("Error processing transaction JSON: {}",
+                    transactionJson != null ? new String(transactionJson, StandardCharsets.UTF_8) : null, e);
+        }
+    }
+
+    // With the audit log on, offsets only move once every decision of the batch is on disk. One writer commits
+    // in queue order, so the last decision confirms the earlier ones. If it fails, stop without committing and
+    // without saving the state the batch went into: a restart reprocesses the batch from the last committed
+    // offsets, on top of the state saved with them, instead of skipping unaudited decisions.
+    private boolean commitAudited(ConsumerRecords<byte[], byte[]> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+        if (lastAudit != null) {
+            try {
+                lastAudit.get(AUDIT_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                metrics.increment("audit.unconfirmed");
+                logger.error("Audit log did not confirm the last batch of decisions; stopping without committing it", e);
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lastAudit = null;
+            }
+        }
+        auditedOffsets.clear();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<byte[], byte[]>> partitionRecords = records.records(partition);
+            auditedOffsets.put(partition,
+                    new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+        }
+        consumer.commitSync(auditedOffsets);
+        return true;
+    }
+
+    private void sendFraudAlert(FraudAlert alert, ConsumerRecord<byte[], byte[]> source, boolean shed) {
+        try {
+            // Urgent alerts must not queue behind bulk batches: own producer, optionally own topic
+            boolean urgent = alert.getSeverity().compareTo(FraudAlert.SeverityLevel.HIGH) >= 0;
+            byte[] json = objectMapper.writeValueAsBytes(alert);
+            ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(
+                    urgent && PRIORITY_TOPIC ? KafkaConfig.FRAUD_ALERTS_PRIORITY_TOPIC : KafkaConfig.FRAUD_ALERTS_TOPIC,
+                    alert.getAccountId().getBytes(StandardCharsets.UTF_8),
+                    json);
+            addSourceHeaders(record, source, shed);
+
+            // Keep the producer I/O thread free: sinks run on the dispatcher's executor
+            (urgent ? priorityLane : bulkLane).send(record, (metadata, exception) -> {
+                if (exception != null) {
+                    logger.error("Failed to send fraud alert: {}", alert.getAlertId(), exception);
+                } else {
+                    if (firstAlertMillis.compareAndSet(-1, ManagementFactory.getRuntimeMXBean().getUptime())) {
+                        logger.info("First alert sent {} ms after JVM start", firstAlertMillis.get());
+                    }
+                    alertDispatcher.dispatch(alert);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error sending fraud alert to Kafka", e);
+        }
+    }
+
+    // Forwards the source key and value bytes untouched; anything the service adds goes in headers
+    private void sendValidTransaction(ConsumerRecord<byte[], byte[]> source, boolean shed) {
+        try {
+            ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(
+                    KafkaConfig.VALID_TRANSACTIONS_TOPIC,
+                    source.key(),
+                    source.value());
+            addSourceHeaders(record, source, shed);
+
+            bulkLane.send(record, null);
+        } catch (Exception e) {
+            logger.error("Error sending valid transaction to Kafka", e);
+        }
+    }
+
+    private void addSourceHeaders(ProducerRecord<byte[], byte[]> record, ConsumerRecord<byte[], byte[]> source,
+            boolean shed) {
+        // Lets consumers measure detection latency against the output record's own timestamp
+        record.headers().add(KafkaConfig.SOURCE_TIMESTAMP_HEADER,
+                Long.toString(source.timestamp()).getBytes(StandardCharsets.UTF_8));
+        // Carry a simulator ground-truth label through so alerts (and misses) can be scored
+        Header scenario = source.headers().lastHeader(KafkaConfig.SCENARIO_HEADER);
+        if (scenario != null) {
+            record.headers().add(scenario);
+        }
+        // Only the cheap rules ran, so the verdict is weaker than usual
+        if (shed) {
+            record.headers().add(KafkaConfig.SHED_HEADER,
+                    Long.toString(loadShedder.lagMillis()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Publishes the previous second's counters once it is over; cheap to call per record
+    private void publishDashboardStats(long nowMillis) {
+        DashboardStats stats = dashboardStats.roll(nowMillis);
+        if (stats == null) {
+            return;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(stats);
+            bulkLane.send(new ProducerRecord<>(KafkaConfig.DASHBOARD_STATS_TOPIC,
+                    stats.source().getBytes(StandardCharsets.UTF_8), json), null);
+            metrics.increment("stats.published");
+        } catch (Exception e) {
+            logger.error("Error sending dashboard stats to Kafka", e);
+        }
+    }
+
+    // Runs on the polling thread, which owns the state: the engine updates it there and rebalances hand it over there
+    private void cleanupOldTransactionHistory(long nowMillis) {
+        if (nowMillis < nextCleanupMillis) {
+            return;
+        }
+        nextCleanupMillis = nowMillis + CLEANUP_INTERVAL_MILLIS;
+        LocalDateTime twoHoursAgo = LocalDateTime.now().minusHours(2);
+
+        for (PartitionState state : partitionStates.ownedStates()) {
+            state.expire(twoHoursAgo);
+        }
+
+        logger.debug("Cleaned up old transaction history");
+    }
+
+    public void shutdown() {
+        logger.info("Shutting down Fraud Detection Service...");
+        running.set(false);
+        consumer.wakeup();
+        try {
+            if (!stopped.await(10, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for the consumer loop to stop");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) {
+        FraudDetectionService service = new FraudDetectionService();
+        service.start();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.frauddetection.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory latency histogram with power-of-two microsecond buckets,
+ * safe to update from producer callback threads. Percentiles report the
+ * bucket's upper bound, so they overstate by less than 2x: coarse, but
+ * enough to tell an idle lane from a queued one.
+ */
+class LatencyHistogram {
+
+    private static final int BUCKETS = 32; // the last one holds everything from ~18 minutes up
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long micros) {
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    long percentile(double p) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), (1L << i) - 1);
+            }
+        }
+        return max.get();
+    }
+}
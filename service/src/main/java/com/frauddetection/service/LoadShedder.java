@@ -0,0 +1,61 @@
+package com.frauddetection.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides, once per poll, whether the service is too far behind to run the
+ * full rule set. It starts shedding when either the age of the oldest polled
+ * record or the number of records still queued on the owned partitions
+ * passes its threshold, and stops only once both are back under a fifth of
+ * it, so it doesn't flap around the limit. Polling thread only.
+ *
+ * Off unless fraud.shed=true; fraud.shed.lagSeconds (default 30) and
+ * fraud.shed.lagRecords (default 100,000) set the thresholds.
+ */
+class LoadShedder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+    private static final int RESUME_DIVISOR = 5;
+
+    private final boolean enabled = Boolean.getBoolean("fraud.shed");
+    private final long maxLagMillis = Long.getLong("fraud.shed.lagSeconds", 30) * 1000;
+    private final long maxLagRecords = Long.getLong("fraud.shed.lagRecords", 100_000);
+    private final ServiceMetrics metrics;
+
+    private boolean shedding;
+    private long lagMillis;
+    private long lagRecords;
+
+    LoadShedder(ServiceMetrics metrics) {
+        this.metrics = metrics;
+        metrics.gauge("shed.active", () -> shedding);
+        metrics.gauge("lag.millis", () -> lagMillis);
+        metrics.gauge("lag.records", () -> lagRecords);
+    }
+
+    // oldestRecordMillis: timestamp of the oldest record in the poll, or nowMillis when it was empty
+    boolean update(long nowMillis, long oldestRecordMillis, long queuedRecords) {
+        lagMillis = Math.max(0, nowMillis - oldestRecordMillis);
+        lagRecords = queuedRecords;
+        if (!enabled) {
+            return false;
+        }
+        if (!shedding && (lagMillis > maxLagMillis || lagRecords > maxLagRecords)) {
+            shedding = true;
+            metrics.increment("shed.entered");
+            logger.warn("Lag {} ms / {} records over the limit: evaluating value and off-hours rules only",
+                    lagMillis, lagRecords);
+        } else if (shedding && lagMillis <= maxLagMillis / RESUME_DIVISOR
+                && lagRecords <= maxLagRecords / RESUME_DIVISOR) {
+            shedding = false;
+            metrics.increment("shed.exited");
+            logger.info("Caught up ({} ms / {} records behind): full evaluation resumed", lagMillis, lagRecords);
+        }
+        return shedding;
+    }
+
+    long lagMillis() {
+        return lagMillis;
+    }
+}
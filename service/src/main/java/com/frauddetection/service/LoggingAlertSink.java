@@ -0,0 +1,19 @@
+package com.frauddetection.service;
+
+import com.frauddetection.model.FraudAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoggingAlertSink implements AlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAlertSink.class);
+
+    @Override
+    public void accept(FraudAlert alert) {
+        logger.warn("🚨 FRAUD ALERT: {} - {} (Risk: {}) - {}",
+                alert.getAlertId(),
+                alert.getFraudType(),
+                alert.getRiskScore(),
+                alert.getDescription());
+    }
+}
@@ -0,0 +1,82 @@
+package com.frauddetection.service;
+
+import com.frauddetection.engine.PartitionState;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps account state only for the partitions this instance owns. State is
+ * flushed to the store when a partition is revoked and loaded back when it
+ * is assigned, so a rebalance moves the state along with the partition.
+ */
+public class PartitionStateManager implements ConsumerRebalanceListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionStateManager.class);
+
+    private final String topic;
+    private final PartitionStateStore store;
+    private final Map<Integer, PartitionState> states = new ConcurrentHashMap<>();
+
+    public PartitionStateManager(String topic, PartitionStateStore store) {
+        this.topic = topic;
+        this.store = store;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        // Snapshots may be old if the previous owner crashed, so expire them like live state
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(2);
+        for (TopicPartition tp : partitions) {
+            PartitionState state = store.load(tp.topic(), tp.partition()).orElseGet(() -> new PartitionState(tp.partition()));
+            state.expire(cutoff);
+            states.put(tp.partition(), state);
+            logger.info("Assigned {} with state for {} accounts", tp, state.getAccountTransactionHistory().size());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        for (TopicPartition tp : partitions) {
+            PartitionState state = states.remove(tp.partition());
+            if (state != null) {
+                store.save(tp.topic(), state);
+                logger.info("Revoked {}; flushed state for {} accounts", tp, state.getAccountTransactionHistory().size());
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        // Another instance may already own these; don't overwrite its snapshot
+        for (TopicPartition tp : partitions) {
+            states.remove(tp.partition());
+            logger.warn("Lost {}; dropped local state without flushing", tp);
+        }
+    }
+
+    public PartitionState stateFor(int partition) {
+        return states.computeIfAbsent(partition, PartitionState::new);
+    }
+
+    public Collection<PartitionState> ownedStates() {
+        return states.values();
+    }
+
+    public void flushAll() {
+        states.values().forEach(state -> store.save(topic, state));
+        logger.info("Flushed state for {} partitions", states.size());
+    }
+
+    // For state that ran ahead of the committed offsets: the next owner rebuilds it from the last snapshot instead
+    public void discardAll() {
+        logger.warn("Dropped state for {} partitions without flushing", states.size());
+        states.clear();
+    }
+}
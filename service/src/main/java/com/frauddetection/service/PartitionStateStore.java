@@ -0,0 +1,15 @@
+package com.frauddetection.service;
+
+import com.frauddetection.engine.PartitionState;
+
+import java.util.Optional;
+
+/**
+ * Where partition state is flushed on revoke and loaded from on assign.
+ */
+public interface PartitionStateStore {
+
+    Optional<PartitionState> load(String topic, int partition);
+
+    void save(String topic, PartitionState state);
+}
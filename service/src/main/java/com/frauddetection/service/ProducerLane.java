@@ -0,0 +1,46 @@
+package com.frauddetection.service;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * One output path of the service: a producer plus the send-to-ack latency
+ * of what goes through it, published as lane.&lt;name&gt;.* metrics. Two lanes
+ * may share a producer; their latencies are still recorded separately.
+ */
+class ProducerLane {
+
+    private final Producer<byte[], byte[]> producer;
+    private final LatencyHistogram ackLatency = new LatencyHistogram();
+
+    ProducerLane(String name, Producer<byte[], byte[]> producer, ServiceMetrics metrics) {
+        this.producer = producer;
+        String prefix = "lane." + name + ".";
+        metrics.gauge(prefix + "acked", ackLatency::count);
+        metrics.gauge(prefix + "ackMicros.p50", () -> ackLatency.percentile(0.50));
+        metrics.gauge(prefix + "ackMicros.p99", () -> ackLatency.percentile(0.99));
+        metrics.gauge(prefix + "ackMicros.max", ackLatency::max);
+    }
+
+    // The callback, if any, runs on the producer I/O thread after the latency is recorded
+    void send(ProducerRecord<byte[], byte[]> record, Callback callback) {
+        long sentAt = System.nanoTime();
+        producer.send(record, (metadata, exception) -> {
+            if (exception == null) {
+                ackLatency.record((System.nanoTime() - sentAt) / 1000);
+            }
+            if (callback != null) {
+                callback.onCompletion(metadata, exception);
+            }
+        });
+    }
+
+    LatencyHistogram getAckLatency() {
+        return ackLatency;
+    }
+
+    Producer<byte[], byte[]> getProducer() {
+        return producer;
+    }
+}
@@ -0,0 +1,60 @@
+package com.frauddetection.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Minimal metrics registry for the detection service: named counters and
+ * gauges that can be queried in-process and are logged periodically.
+ */
+public class ServiceMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceMetrics.class);
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    public void increment(String name) {
+        counter(name).increment();
+    }
+
+    public void add(String name, long delta) {
+        counter(name).add(delta);
+    }
+
+    public long count(String name) {
+        LongAdder adder = counters.get(name);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public void gauge(String name, Supplier<?> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> values = new TreeMap<>();
+        counters.forEach((name, adder) -> values.put(name, adder.sum()));
+        gauges.forEach((name, supplier) -> {
+            try {
+                values.put(name, supplier.get());
+            } catch (Exception e) {
+                values.put(name, "error: " + e.getMessage());
+            }
+        });
+        return values;
+    }
+
+    public void log() {
+        snapshot().forEach((name, value) -> logger.info("metric {} = {}", name, value));
+    }
+
+    private LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+}
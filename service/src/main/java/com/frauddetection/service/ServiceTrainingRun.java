@@ -0,0 +1,129 @@
+package com.frauddetection.service;
+
+import com.frauddetection.config.KafkaConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replays recorded transactions (one JSON document per line) through the
+ * service's own poll loop, using mock Kafka clients, then exits. It needs no
+ * broker, so it serves both as the AppCDS training run for the service image
+ * and as a repeatable startup measurement: it prints the time from JVM start
+ * to ready and to the first alert.
+ *
+ * Usage: ServiceTrainingRun [recording] [partitions] [limit]
+ */
+public class ServiceTrainingRun {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTrainingRun.class);
+    private static final int MAX_POLL_RECORDS = 500; // the consumer default
+    private static final String ACCOUNT_FIELD = "\"accountId\":\"";
+
+    public static void main(String[] args) throws Exception {
+        Path recording = Path.of(args.length > 0 ? args[0] : "build/training/transactions.jsonl");
+        int partitions = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long limit = args.length > 2 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+        List<String> lines;
+        try (Stream<String> recorded = Files.lines(recording, StandardCharsets.UTF_8)) {
+            lines = recorded.limit(limit).toList();
+        }
+
+        loadKafkaClientClasses();
+
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        MockProducer<byte[], byte[]> producer =
+                new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        FraudDetectionService service = new FraudDetectionService(consumer, producer);
+
+        // Poll 1 assigns the partitions; each later poll returns one batch, as a real consumer would
+        List<TopicPartition> assigned = new ArrayList<>();
+        Map<TopicPartition, Long> beginning = new HashMap<>();
+        for (int p = 0; p < partitions; p++) {
+            TopicPartition tp = new TopicPartition(KafkaConfig.TRANSACTIONS_TOPIC, p);
+            assigned.add(tp);
+            beginning.put(tp, 0L);
+        }
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(assigned);
+            consumer.updateBeginningOffsets(beginning);
+        });
+        long[] offsets = new long[partitions];
+        for (int start = 0; start < lines.size(); start += MAX_POLL_RECORDS) {
+            List<String> batch = lines.subList(start, Math.min(lines.size(), start + MAX_POLL_RECORDS));
+            consumer.schedulePollTask(() -> {
+                long now = System.currentTimeMillis();
+                for (String line : batch) {
+                    String key = accountKey(line);
+                    int partition = Math.floorMod(key.hashCode(), partitions);
+                    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                    byte[] value = line.getBytes(StandardCharsets.UTF_8);
+                    consumer.addRecord(new ConsumerRecord<>(KafkaConfig.TRANSACTIONS_TOPIC, partition,
+                            offsets[partition]++, now, TimestampType.CREATE_TIME, keyBytes.length, value.length,
+                            keyBytes, value, new RecordHeaders(), Optional.empty()));
+                }
+            });
+        }
+        CountDownLatch replayed = new CountDownLatch(1);
+        consumer.schedulePollTask(replayed::countDown);
+
+        long replayStart = System.nanoTime();
+        Thread loop = new Thread(service::start, "training-replay");
+        loop.start();
+        if (!replayed.await(10, TimeUnit.MINUTES)) {
+            logger.warn("Replay did not finish in time");
+        }
+        double replaySeconds = (System.nanoTime() - replayStart) / 1e9;
+        service.shutdown();
+        loop.join();
+
+        System.out.printf("Replayed %,d transactions in %.2f s (%,.0f/s), %,d records produced%n", lines.size(),
+                replaySeconds, lines.size() / replaySeconds, producer.history().size());
+        System.out.printf("Ready %d ms, first alert %d ms, exit %d ms after JVM start%n", service.getReadyMillis(),
+                service.getFirstAlertMillis(), ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    // The real clients are never connected, but building them loads their classes into the archive
+    private static void loadKafkaClientClasses() {
+        try (KafkaConsumer<byte[], byte[]> consumer =
+                     new KafkaConsumer<>(KafkaConfig.getBytesConsumerProps("service-training"))) {
+            consumer.subscribe(List.of(KafkaConfig.TRANSACTIONS_TOPIC));
+        }
+        KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(KafkaConfig.getBytesProducerProps());
+        producer.close(Duration.ZERO);
+    }
+
+    // The simulator keys transactions by account; pull it out without a full parse
+    private static String accountKey(String json) {
+        int field = json.indexOf(ACCOUNT_FIELD);
+        if (field < 0) {
+            return "";
+        }
+        int start = field + ACCOUNT_FIELD.length();
+        int end = json.indexOf('"', start);
+        return end < 0 ? "" : json.substring(start, end);
+    }
+}
@@ -0,0 +1,130 @@
+package com.frauddetection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frauddetection.engine.FraudDetectionEngine;
+import com.frauddetection.engine.PartitionState;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Drives the service's deserialize, analyse and serialize path on synthetic
+ * or recorded transaction bytes until throughput stops climbing, so the hot code
+ * is compiled before the instance takes partitions. It runs on a scratch
+ * engine and scratch account state, and nothing is sent anywhere.
+ */
+class ServiceWarmup {
+
+    private static final long WINDOW_MILLIS = 500;
+    private static final int STABLE_WINDOWS = 4;         // windows averaged per comparison, to ride out GC noise
+    private static final double STABLE_TOLERANCE = 0.05; // max change between successive averages
+    private static final long MIN_MILLIS = 3_000;
+    private static final int PARTITIONS = 3;
+    private static final String[] SYMBOLS = {"AAPL", "GOOGL", "MSFT", "AMZN", "TSLA", "NVDA", "META", "NFLX"};
+
+    record Result(long durationMillis, long transactions, double steadyRate, boolean stabilized) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final List<byte[]> transactions;
+
+    ServiceWarmup(ObjectMapper objectMapper, List<byte[]> transactions) {
+        this.objectMapper = objectMapper;
+        this.transactions = transactions;
+    }
+
+    // Transaction JSON as the simulator sends it: mostly ordinary trades, some high-value ones
+    static List<byte[]> synthetic(ObjectMapper objectMapper, int count) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<byte[]> json = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean suspicious = random.nextInt(50) == 0;
+            BigDecimal price = BigDecimal.valueOf(10_000 + random.nextInt(40_000), 2);
+            BigDecimal quantity = BigDecimal.valueOf(suspicious ? 5_000 + random.nextInt(10_000) : 1 + random.nextInt(1_000));
+            json.add(objectMapper.writeValueAsBytes(new Transaction("WARMUP-" + i,
+                    String.format("ACC%03d", 1 + random.nextInt(10_000)), SYMBOLS[random.nextInt(SYMBOLS.length)],
+                    random.nextBoolean() ? "BUY" : "SELL", quantity, price, now)));
+        }
+        return json;
+    }
+
+    // One transaction JSON document per line, e.g. from the simulator's TrafficRecorder
+    static List<byte[]> recorded(Path file, int limit) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).limit(limit)
+                    .map(line -> line.getBytes(StandardCharsets.UTF_8)).toList();
+        }
+    }
+
+    Result run(long maxMillis) throws IOException {
+        FraudDetectionEngine engine = new FraudDetectionEngine();
+        PartitionState[] states = newStates();
+        double[] rates = new double[2 * STABLE_WINDOWS];
+        int windows = 0;
+        long total = 0;
+        long start = System.nanoTime();
+        long windowStart = start;
+        long windowCount = 0;
+        int next = 0;
+        while (true) {
+            byte[] json = transactions.get(next);
+            next = (next + 1) % transactions.size();
+            Transaction transaction = objectMapper.readValue(json, Transaction.class);
+            List<FraudAlert> alerts = engine.process(transaction, states[Math.floorMod(
+                    transaction.getAccountId().hashCode(), PARTITIONS)], System.currentTimeMillis());
+            // Valid transactions are passed through as bytes; only alerts are serialized
+            for (FraudAlert alert : alerts) {
+                objectMapper.writeValueAsBytes(alert);
+            }
+            windowCount++;
+
+            long now = System.nanoTime();
+            if (now - windowStart < WINDOW_MILLIS * 1_000_000) {
+                continue;
+            }
+            rates[windows++ % rates.length] = windowCount * 1e9 / (now - windowStart);
+            total += windowCount;
+            windowCount = 0;
+            windowStart = now;
+            // Fresh account state each window, so history growth doesn't read as a slowdown
+            states = newStates();
+
+            long elapsedMillis = (now - start) / 1_000_000;
+            double recent = mean(rates, windows, 0);
+            boolean stable = windows >= rates.length && elapsedMillis >= MIN_MILLIS
+                    && Math.abs(recent - mean(rates, windows, STABLE_WINDOWS)) <= STABLE_TOLERANCE * recent;
+            if (stable || elapsedMillis >= maxMillis) {
+                return new Result(elapsedMillis, total, recent, stable);
+            }
+        }
+    }
+
+    private static PartitionState[] newStates() {
+        PartitionState[] states = new PartitionState[PARTITIONS];
+        for (int p = 0; p < PARTITIONS; p++) {
+            states[p] = new PartitionState(p);
+        }
+        return states;
+    }
+
+    // Mean of the STABLE_WINDOWS windows ending `skip` windows before the latest
+    private static double mean(double[] rates, int windows, int skip) {
+        int count = Math.min(STABLE_WINDOWS, windows - skip);
+        double sum = 0;
+        for (int i = 1; i <= count; i++) {
+            sum += rates[Math.floorMod(windows - skip - i, rates.length)];
+        }
+        return count > 0 ? sum / count : 0;
+    }
+}
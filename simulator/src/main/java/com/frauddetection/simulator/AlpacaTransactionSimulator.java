@@ -0,0 +1,187 @@
+package com.frauddetection.simulator;
+
+import com.frauddetection.config.ExecutionMode;
+import com.frauddetection.config.KafkaConfig;
+import com.frauddetection.model.Transaction;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class AlpacaTransactionSimulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlpacaTransactionSimulator.class);
+    private static final int DEMO_ACCOUNTS = 10; // ACC001 - ACC010
+    private static final int SCENARIO_ACCOUNTS = 5; // ACC011 - ACC015, reserved for library scenarios
+
+    private final KafkaProducer<byte[], byte[]> producer;
+    private final ScheduledExecutorService executor;
+
+    // One generator per scheduled task: a task never overlaps itself, so each stream is reproducible
+    private final long seed = Long.getLong("fraud.sim.seed", System.nanoTime());
+    private final TransactionGenerator normalGenerator = new TransactionGenerator(seed, 0, DEMO_ACCOUNTS);
+    private final TransactionGenerator suspiciousGenerator = new TransactionGenerator(seed, 1, DEMO_ACCOUNTS);
+    private final TransactionGenerator burstGenerator = new TransactionGenerator(seed, 2, DEMO_ACCOUNTS);
+    private final TransactionGenerator scenarioGenerator =
+            new TransactionGenerator(seed, 3, DEMO_ACCOUNTS + SCENARIO_ACCOUNTS);
+    private final ScenarioLibrary scenarios =
+            new ScenarioLibrary(DEMO_ACCOUNTS, SCENARIO_ACCOUNTS, TransactionGenerator.runTag(seed));
+    private final long scenarioIntervalSeconds = Long.getLong("fraud.sim.scenarioIntervalSeconds", 0);
+
+    public AlpacaTransactionSimulator() {
+        this.producer = new KafkaProducer<>(KafkaConfig.getBytesProducerProps());
+        this.executor = ExecutionMode.newScheduledExecutor("simulator", 2);
+    }
+
+    public void startSimulation() {
+        logger.info("Starting Alpaca transaction simulation (seed {}, rerun with -Dfraud.sim.seed={})...", seed, seed);
+
+        // Normal transactions - every 5 seconds for easier debugging
+        logger.info("Generating normal transactions every 5 seconds");
+        executor.scheduleWithFixedDelay(this::generateNormalTransaction, 0, 5, TimeUnit.SECONDS);
+
+        // Suspicious transactions - less frequently for debugging
+        logger.info("Generating suspicious transactions every 60 seconds");
+        executor.scheduleWithFixedDelay(this::generateSuspiciousTransaction, 10, 60, TimeUnit.SECONDS);
+
+        // Burst of transactions - even less frequent for debugging
+        logger.info("Generating transaction bursts every 180 seconds");
+        executor.scheduleWithFixedDelay(this::generateBurstTransactions, 60, 180, TimeUnit.SECONDS);
+
+        // Labelled fraud scenarios from the library, round-robin, when enabled
+        if (scenarioIntervalSeconds > 0) {
+            logger.info("Playing library fraud scenarios every {} seconds", scenarioIntervalSeconds);
+            executor.scheduleWithFixedDelay(this::playLibraryScenario, 30, scenarioIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        // Shutdown hook
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+
+        logger.info("Transaction simulation started. Press Ctrl+C to stop.");
+    }
+
+    private void generateNormalTransaction() {
+        try {
+            normalGenerator.nextNormal();
+            sendTransaction(normalGenerator, null);
+
+            // Add some randomness to timing
+            if (normalGenerator.nextInt(2) == 0) {
+                Thread.sleep(normalGenerator.nextInt(3000) + 500);
+            }
+        } catch (Exception e) {
+            logger.error("Error generating normal transaction", e);
+        }
+    }
+
+    private void generateSuspiciousTransaction() {
+        try {
+            suspiciousGenerator.nextSuspicious();
+            sendTransaction(suspiciousGenerator, scenarios.newLabel(ScenarioType.SUSPICIOUS_SINGLE));
+            logger.warn("Generated suspicious transaction: {}", suspiciousGenerator.transactionId());
+        } catch (Exception e) {
+            logger.error("Error generating suspicious transaction", e);
+        }
+    }
+
+    private void generateBurstTransactions() {
+        try {
+            int burstCount = burstGenerator.nextInt(5) + 3; // 3-7 transactions
+            int account = burstGenerator.randomAccount();
+            int symbol = burstGenerator.randomSymbol();
+            String label = scenarios.newLabel(ScenarioType.RAPID_BURST);
+
+            logger.info("Generating burst of {} transactions for account {} trading {}",
+                    burstCount, burstGenerator.accountId(account), TransactionGenerator.symbol(symbol));
+
+            for (int i = 0; i < burstCount; i++) {
+                burstGenerator.nextBurst(account, symbol);
+                sendTransaction(burstGenerator, label);
+                Thread.sleep(100 + burstGenerator.nextInt(200)); // Very rapid succession
+            }
+        } catch (Exception e) {
+            logger.error("Error generating burst transactions", e);
+        }
+    }
+
+    private void playLibraryScenario() {
+        try {
+            ScenarioType type = ScenarioLibrary.LIBRARY[scenarioGenerator.nextInt(ScenarioLibrary.LIBRARY.length)];
+            String label = scenarios.play(type, scenarioGenerator, this::sendTransaction);
+            logger.warn("Played fraud scenario {}", label);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Error playing fraud scenario", e);
+        }
+    }
+
+    // Sends the generator's current event, serialized into its reusable buffer; injected
+    // fraud carries its ground-truth label in the scenario header
+    private void sendTransaction(TransactionGenerator generator, String label) {
+        try {
+            long nowMillis = System.currentTimeMillis();
+            int length = generator.writeJson(nowMillis);
+            ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(
+                    KafkaConfig.TRANSACTIONS_TOPIC,
+                    generator.accountKey(),
+                    Arrays.copyOf(generator.buffer(), length));
+            if (label != null) {
+                record.headers().add(KafkaConfig.SCENARIO_HEADER, label.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Transaction transaction = logger.isInfoEnabled() ? generator.toTransaction(nowMillis) : null;
+            producer.send(record, (metadata, exception) -> {
+                if (exception != null) {
+                    logger.error("Failed to send transaction", exception);
+                } else if (transaction != null) {
+                    logger.info("Sent transaction: {} - {} {} {}@${} (total: ${})",
+                            transaction.getTransactionId(),
+                            transaction.getSide(),
+                            transaction.getQuantity(),
+                            transaction.getSymbol(),
+                            transaction.getPrice(),
+                            transaction.getTotalValue());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error sending transaction to Kafka", e);
+        }
+    }
+
+    public void shutdown() {
+        logger.info("Shutting down transaction simulator...");
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+        }
+        producer.close();
+        logger.info("Transaction simulator stopped.");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if ("capacity".equalsIgnoreCase(System.getProperty("fraud.sim.mode"))) {
+            CapacityLoadGenerator.main(args);
+            return;
+        }
+        AlpacaTransactionSimulator simulator = new AlpacaTransactionSimulator();
+        simulator.startSimulation();
+
+        // Keep the main thread alive
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            logger.info("Simulation interrupted");
+            simulator.shutdown();
+        }
+    }
+}
\ No newline at end of file
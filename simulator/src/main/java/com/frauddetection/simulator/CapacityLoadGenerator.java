@@ -0,0 +1,156 @@
+package com.frauddetection.simulator;
+
+import com.frauddetection.config.KafkaConfig;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the transactions topic as hard as one process can for capacity
+ * tests. Each thread owns a {@link TransactionGenerator}; all threads share
+ * one throughput-tuned producer.
+ *
+ * Options: fraud.sim.threads (default: CPUs), fraud.sim.rate (events/s in
+ * total, 0 = unthrottled), fraud.sim.seconds (0 = until stopped),
+ * fraud.sim.accounts (default 10000), fraud.sim.suspiciousRatio
+ * (default 0.001), fraud.sim.seed.
+ */
+public class CapacityLoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityLoadGenerator.class);
+    private static final long REPORT_INTERVAL_MILLIS = 5_000;
+
+    private final int threads = Integer.getInteger("fraud.sim.threads", Runtime.getRuntime().availableProcessors());
+    private final long rate = Long.getLong("fraud.sim.rate", 0);
+    private final long seconds = Long.getLong("fraud.sim.seconds", 0);
+    private final int accounts = Integer.getInteger("fraud.sim.accounts", 10_000);
+    private final double suspiciousRatio = Double.parseDouble(System.getProperty("fraud.sim.suspiciousRatio", "0.001"));
+    private final long seed = Long.getLong("fraud.sim.seed", System.nanoTime());
+
+    private final KafkaProducer<byte[], byte[]> producer = new KafkaProducer<>(producerProps());
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Callback onComplete = (metadata, exception) -> {
+        if (exception != null) {
+            failed.increment();
+        }
+    };
+
+    // Throughput over latency: bigger batches, a little linger, compression, leader-only acks
+    private static Properties producerProps() {
+        Properties props = KafkaConfig.getBytesProducerProps();
+        props.put(ProducerConfig.ACKS_CONFIG, "1");
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, 512 * 1024);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 256L * 1024 * 1024);
+        return props;
+    }
+
+    public void run() throws InterruptedException {
+        logger.info("Capacity load: {} threads, {} events/s, {} accounts, seed {}", threads,
+                rate > 0 ? rate : "unthrottled", accounts, seed);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            running.set(false);
+            try {
+                finished.await(10, TimeUnit.SECONDS); // let the producer flush
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            TransactionGenerator generator = new TransactionGenerator(seed, i, accounts);
+            long threadRate = rate > 0 ? Math.max(1, rate / threads) : 0;
+            Thread worker = new Thread(() -> produce(generator, threadRate), "capacity-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+
+        long start = System.nanoTime();
+        long lastSent = 0;
+        long lastBytes = 0;
+        long lastReport = start;
+        while (running.get() && (seconds == 0 || System.nanoTime() - start < TimeUnit.SECONDS.toNanos(seconds))) {
+            Thread.sleep(REPORT_INTERVAL_MILLIS);
+            long now = System.nanoTime();
+            long totalSent = sent.sum();
+            long totalBytes = bytes.sum();
+            double elapsed = (now - lastReport) / 1e9;
+            logger.info("Sent {} events/s ({} MB/s), {} total, {} failed",
+                    String.format("%,.0f", (totalSent - lastSent) / elapsed),
+                    String.format("%.1f", (totalBytes - lastBytes) / elapsed / (1024 * 1024)),
+                    String.format("%,d", totalSent), failed.sum());
+            lastSent = totalSent;
+            lastBytes = totalBytes;
+            lastReport = now;
+        }
+
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        producer.close();
+        finished.countDown();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        logger.info("Capacity load finished: {} events in {} s ({} events/s), {} failed",
+                String.format("%,d", sent.sum()), String.format("%.1f", elapsed),
+                String.format("%,.0f", sent.sum() / elapsed), failed.sum());
+    }
+
+    // One thread: generate into the generator's buffer and send, paced in 1 ms slices when throttled
+    private void produce(TransactionGenerator generator, long threadRate) {
+        long produced = 0;
+        long start = System.nanoTime();
+        try {
+            while (running.get()) {
+                long due = threadRate > 0 ? (long) ((System.nanoTime() - start) / 1e9 * threadRate) : produced + 1024;
+                if (produced >= due) {
+                    Thread.sleep(1);
+                    continue;
+                }
+                long nowMillis = System.currentTimeMillis();
+                long batchStart = produced;
+                long batchBytes = 0;
+                while (produced < due) {
+                    if (generator.nextDouble() < suspiciousRatio) {
+                        generator.nextSuspicious();
+                    } else {
+                        generator.nextNormal();
+                    }
+                    int length = generator.writeJson(nowMillis);
+                    producer.send(new ProducerRecord<>(KafkaConfig.TRANSACTIONS_TOPIC, generator.accountKey(),
+                            Arrays.copyOf(generator.buffer(), length)), onComplete);
+                    batchBytes += length;
+                    produced++;
+                }
+                sent.add(produced - batchStart);
+                bytes.add(batchBytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Capacity worker failed", e);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        new CapacityLoadGenerator().run();
+    }
+}
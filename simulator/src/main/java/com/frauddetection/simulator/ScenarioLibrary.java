@@ -0,0 +1,130 @@
+package com.frauddetection.simulator;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scripted fraud scenarios with ground-truth labels. Scenarios trade only
+ * on a reserved block of accounts, so background traffic never shares an
+ * account with them and any alert on those accounts can be attributed.
+ *
+ * {@link #play} runs a scenario to completion on the calling thread,
+ * sleeping between events; use one generator per playing thread.
+ */
+public class ScenarioLibrary {
+
+    public static final ScenarioType[] LIBRARY = {
+            ScenarioType.PUMP_AND_DUMP, ScenarioType.OFF_HOURS_BURST,
+            ScenarioType.COORDINATED_TRADING, ScenarioType.SLOW_RAMP};
+
+    private static final int FIRST_THIN_SYMBOL = 8; // symbols from here on have the flat 100.00 base price
+
+    private final int firstAccount;
+    private final int accountCount;
+    private final String runTag;
+    private final AtomicLong scenarioIds = new AtomicLong();
+
+    /**
+     * @param firstAccount index of the first reserved account in the generators' account table
+     * @param accountCount number of reserved accounts
+     * @param runTag       distinguishes scenario IDs between runs
+     */
+    public ScenarioLibrary(int firstAccount, int accountCount, String runTag) {
+        this.firstAccount = firstAccount;
+        this.accountCount = accountCount;
+        this.runTag = runTag;
+    }
+
+    public String newLabel(ScenarioType type) {
+        return type.name() + ":" + runTag + "-" + scenarioIds.incrementAndGet();
+    }
+
+    public static ScenarioType typeOf(String label) {
+        return ScenarioType.valueOf(label.substring(0, label.indexOf(':')));
+    }
+
+    /** Plays one scenario and returns its label. */
+    public String play(ScenarioType type, TransactionGenerator generator, ScenarioSink sink)
+            throws InterruptedException {
+        String label = newLabel(type);
+        switch (type) {
+            case PUMP_AND_DUMP -> pumpAndDump(generator, sink, label);
+            case OFF_HOURS_BURST -> offHoursBurst(generator, sink, label);
+            case COORDINATED_TRADING -> coordinatedTrading(generator, sink, label);
+            case SLOW_RAMP -> slowRamp(generator, sink, label);
+            default -> throw new IllegalArgumentException("Not a library scenario: " + type);
+        }
+        return label;
+    }
+
+    // Eight buys walking a thin symbol up 3% a step, then large sells at the top and into the drop
+    private void pumpAndDump(TransactionGenerator generator, ScenarioSink sink, String label)
+            throws InterruptedException {
+        int account = reservedAccount(generator);
+        int symbol = FIRST_THIN_SYMBOL + generator.nextInt(TransactionGenerator.symbolCount() - FIRST_THIN_SYMBOL);
+        double price = TransactionGenerator.basePriceCents(symbol);
+        for (int i = 0; i < 8; i++) {
+            price *= 1.03;
+            generator.nextTrade(account, symbol, true, 200 + generator.nextInt(300), Math.round(price), null);
+            sink.send(generator, label);
+            Thread.sleep(300);
+        }
+        double peak = price * 1.05;
+        for (int i = 0; i < 3; i++) {
+            generator.nextTrade(account, symbol, false, 3000 + generator.nextInt(2000), Math.round(peak), null);
+            sink.send(generator, label);
+            peak *= 0.85;
+            Thread.sleep(200);
+        }
+    }
+
+    // Six quick trades by one account, stamped in the small hours
+    private void offHoursBurst(TransactionGenerator generator, ScenarioSink sink, String label)
+            throws InterruptedException {
+        int account = reservedAccount(generator);
+        int symbol = generator.randomSymbol();
+        LocalDateTime night = LocalDateTime.now().withHour(2 + generator.nextInt(3)).withMinute(generator.nextInt(60));
+        for (int i = 0; i < 6; i++) {
+            long price = TransactionGenerator.basePriceCents(symbol) + generator.nextGaussianCents(200);
+            generator.nextTrade(account, symbol, generator.nextInt(2) == 0, 50 + generator.nextInt(450), price,
+                    night.plusSeconds(i * 20L));
+            sink.send(generator, label);
+            Thread.sleep(150);
+        }
+    }
+
+    // Five distinct accounts buying the same symbol within about a second
+    private void coordinatedTrading(TransactionGenerator generator, ScenarioSink sink, String label)
+            throws InterruptedException {
+        int symbol = generator.randomSymbol();
+        int base = generator.nextInt(accountCount);
+        for (int i = 0; i < 5; i++) {
+            int account = firstAccount + (base + i) % accountCount;
+            long price = TransactionGenerator.basePriceCents(symbol) + generator.nextGaussianCents(100);
+            generator.nextTrade(account, symbol, true, 100 + generator.nextInt(400), price, null);
+            sink.send(generator, label);
+            Thread.sleep(200);
+        }
+    }
+
+    // Ten trades three seconds apart whose value grows from about $5k to $150k
+    private void slowRamp(TransactionGenerator generator, ScenarioSink sink, String label)
+            throws InterruptedException {
+        int account = reservedAccount(generator);
+        int symbol = generator.randomSymbol();
+        long priceCents = TransactionGenerator.basePriceCents(symbol);
+        double targetValueCents = 5_000_00;
+        double growth = Math.pow(150_000.0 / 5_000.0, 1.0 / 9);
+        for (int i = 0; i < 10; i++) {
+            long quantity = Math.max(1, Math.round(targetValueCents / priceCents));
+            generator.nextTrade(account, symbol, true, quantity, priceCents + generator.nextGaussianCents(100), null);
+            sink.send(generator, label);
+            targetValueCents *= growth;
+            Thread.sleep(3000);
+        }
+    }
+
+    private int reservedAccount(TransactionGenerator generator) {
+        return firstAccount + generator.nextInt(accountCount);
+    }
+}
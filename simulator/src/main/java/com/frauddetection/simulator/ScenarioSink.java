@@ -0,0 +1,10 @@
+package com.frauddetection.simulator;
+
+/**
+ * Receives each event of a scenario as it is played: the generator's current
+ * event plus its ground-truth label ({@code <ScenarioType>:<scenario id>}).
+ */
+@FunctionalInterface
+public interface ScenarioSink {
+    void send(TransactionGenerator generator, String label);
+}
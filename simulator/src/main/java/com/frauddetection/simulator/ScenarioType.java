@@ -0,0 +1,14 @@
+package com.frauddetection.simulator;
+
+/**
+ * Kinds of injected fraud. Every transaction of an injected scenario carries
+ * a {@code x-scenario} header naming its type and scenario ID.
+ */
+public enum ScenarioType {
+    PUMP_AND_DUMP,       // rising buys on a thin symbol, then large sells into the spike
+    OFF_HOURS_BURST,     // rapid trades stamped outside market hours
+    COORDINATED_TRADING, // several accounts, same symbol and side, within a second
+    SLOW_RAMP,           // one account's trade value creeping up to a high-value trade
+    SUSPICIOUS_SINGLE,   // the demo simulator's one-off high-volume/high-value trade
+    RAPID_BURST          // the demo simulator's short burst by one account
+}
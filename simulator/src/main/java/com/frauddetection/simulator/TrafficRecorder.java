@@ -0,0 +1,103 @@
+package com.frauddetection.simulator;
+
+import com.frauddetection.config.KafkaConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Records transaction traffic to a file, one JSON document per line, for
+ * replaying through the service (the service image's AppCDS training run).
+ *
+ * With fraud.record.source=kafka it copies the transactions topic from the
+ * beginning; otherwise it writes a seeded synthetic mix: normal trades,
+ * suspicious trades and short bursts, so every rule path is exercised.
+ *
+ * Usage: TrafficRecorder [file] [count]
+ */
+public class TrafficRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficRecorder.class);
+    private static final Duration KAFKA_IDLE_TIMEOUT = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "build/training/transactions.jsonl");
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            int written = "kafka".equalsIgnoreCase(System.getProperty("fraud.record.source"))
+                    ? recordFromKafka(out, count)
+                    : recordSynthetic(out, count);
+            logger.info("Recorded {} transactions to {}", written, file);
+        }
+    }
+
+    private static int recordSynthetic(BufferedWriter out, int count) throws IOException {
+        TransactionGenerator generator = new TransactionGenerator(Long.getLong("fraud.sim.seed", 42), 0, 1_000);
+        long now = System.currentTimeMillis();
+        int written = 0;
+        while (written < count) {
+            double roll = generator.nextDouble();
+            if (roll < 0.01) {
+                // A burst of 3-7 trades by one account, enough to trip the rapid-trading rule
+                int account = generator.randomAccount();
+                int symbol = generator.randomSymbol();
+                for (int i = 0, n = generator.nextInt(5) + 3; i < n && written < count; i++, written++) {
+                    generator.nextBurst(account, symbol);
+                    writeLine(out, generator, now);
+                }
+                continue;
+            }
+            if (roll < 0.03) {
+                generator.nextSuspicious();
+            } else {
+                generator.nextNormal();
+            }
+            writeLine(out, generator, now);
+            written++;
+        }
+        return written;
+    }
+
+    private static void writeLine(BufferedWriter out, TransactionGenerator generator, long now) throws IOException {
+        int length = generator.writeJson(now);
+        out.write(new String(generator.buffer(), 0, length, StandardCharsets.US_ASCII));
+        out.newLine();
+    }
+
+    private static int recordFromKafka(BufferedWriter out, int count) throws IOException {
+        Properties props = KafkaConfig.getConsumerProps("traffic-recorder-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        int written = 0;
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
+            consumer.subscribe(List.of(KafkaConfig.TRANSACTIONS_TOPIC));
+            long lastRecordAt = System.nanoTime();
+            while (written < count && System.nanoTime() - lastRecordAt < KAFKA_IDLE_TIMEOUT.toNanos()) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                    out.write(record.value());
+                    out.newLine();
+                    lastRecordAt = System.nanoTime();
+                    if (++written == count) {
+                        break;
+                    }
+                }
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,332 @@
+package com.frauddetection.simulator;
+
+import com.frauddetection.model.Transaction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Allocation-lean source of simulated transactions. Not thread-safe: give
+ * each thread its own generator with a distinct generator ID. Output is
+ * reproducible for a given seed and ID.
+ *
+ * Each call to a {@code next...} method fills the generator's current event,
+ * which can be written as JSON into the generator's reusable buffer (the
+ * same wire format the service reads) or turned into a {@link Transaction}.
+ * Prices are kept in cents and IDs come from a per-generator counter, so the
+ * JSON path needs no BigDecimal, UUID or ObjectMapper.
+ */
+public final class TransactionGenerator {
+
+    private static final String[] SYMBOLS = {
+            "AAPL", "GOOGL", "MSFT", "AMZN", "TSLA", "NVDA", "META", "NFLX", "BABA", "AMD",
+            "INTC", "CRM", "ORCL", "ADBE", "PYPL", "UBER", "LYFT", "SPOT", "ZOOM", "SQ"};
+    // Simulated base prices, in cents, by symbol index
+    private static final long[] BASE_PRICE_CENTS = {
+            17_500, 13_500, 33_000, 14_000, 25_000, 45_000, 32_000, 38_000, 10_000, 10_000,
+            10_000, 10_000, 10_000, 10_000, 10_000, 10_000, 10_000, 10_000, 10_000, 10_000};
+    private static final byte[][] SYMBOL_BYTES = ascii(SYMBOLS);
+    private static final byte[] BUY = ascii("BUY");
+    private static final byte[] SELL = ascii("SELL");
+
+    private static final byte[] ID_FIELD = ascii("{\"transactionId\":\"");
+    private static final byte[] ACCOUNT_FIELD = ascii("\",\"accountId\":\"");
+    private static final byte[] SYMBOL_FIELD = ascii("\",\"symbol\":\"");
+    private static final byte[] SIDE_FIELD = ascii("\",\"side\":\"");
+    private static final byte[] QUANTITY_FIELD = ascii("\",\"quantity\":");
+    private static final byte[] PRICE_FIELD = ascii(",\"price\":");
+    private static final byte[] TOTAL_FIELD = ascii(",\"totalValue\":");
+    private static final byte[] TIMESTAMP_FIELD = ascii(",\"timestamp\":\"");
+    private static final byte[] TAIL = ascii("\",\"orderType\":\"MARKET\",\"status\":\"FILLED\"}");
+
+    private final SplittableRandom random;
+    private final byte[] idPrefix;
+    private final String[] accounts;
+    private final byte[][] accountBytes;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Current event
+    private long sequence;
+    private int accountIndex;
+    private int symbolIndex;
+    private boolean buy;
+    private long quantity;
+    private long priceCents;
+    private LocalDateTime timestampOverride; // off-hours events only
+
+    // Reusable output
+    private final byte[] buffer = new byte[256];
+    private int length;
+    private final byte[] idBytes = new byte[32];
+    private int idLength;
+    private long cachedSecond = Long.MIN_VALUE;
+    private final byte[] cachedTimestamp = new byte[19];
+
+    public TransactionGenerator(long seed, int generatorId, int accountCount) {
+        // Distinct, reproducible stream per generator
+        this.random = new SplittableRandom(seed + generatorId * 0x9E3779B97F4A7C15L);
+        // IDs: TXN-<run tag from seed>-<generator>-<sequence>, unique per seed and generator
+        this.idPrefix = ascii("TXN-" + runTag(seed) + "-" + Integer.toString(generatorId, 36).toUpperCase() + "-");
+        this.accounts = new String[accountCount];
+        this.accountBytes = new byte[accountCount][];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = String.format("ACC%03d", i + 1);
+            accountBytes[i] = ascii(accounts[i]);
+        }
+    }
+
+    // Short tag shared by every transaction ID generated from this seed
+    public static String runTag(long seed) {
+        return Long.toString((seed ^ (seed >>> 29)) & 0xFFFFFL, 36).toUpperCase();
+    }
+
+    // An ordinary trade near the symbol's base price
+    public void nextNormal() {
+        begin(random.nextInt(accounts.length), random.nextInt(SYMBOLS.length));
+        priceCents = jitter(BASE_PRICE_CENTS[symbolIndex], 500);
+        quantity = random.nextInt(1000) + 1;
+    }
+
+    // Very high volume or value, and half the time outside market hours
+    public void nextSuspicious() {
+        begin(random.nextInt(accounts.length), random.nextInt(SYMBOLS.length));
+        priceCents = jitter(BASE_PRICE_CENTS[symbolIndex], 500);
+        if (random.nextBoolean()) {
+            quantity = random.nextInt(10000) + 5000;
+        } else {
+            quantity = random.nextInt(100) + 1;
+            priceCents = (random.nextInt(5000) + 1000) * 100L;
+        }
+        if (random.nextBoolean()) {
+            int hour = random.nextBoolean() ? random.nextInt(9) + 1 : random.nextInt(7) + 17; // 1-9 AM or 5-11 PM
+            timestampOverride = LocalDateTime.now(zone).withHour(hour).withMinute(random.nextInt(60)).withNano(0);
+        }
+    }
+
+    // One trade of a rapid burst by the given account and symbol
+    public void nextBurst(int account, int symbol) {
+        begin(account, symbol);
+        priceCents = jitter(BASE_PRICE_CENTS[symbolIndex], 200);
+        quantity = random.nextInt(500) + 10;
+    }
+
+    // A fully specified trade, for scripted scenarios; a null timestamp means now
+    public void nextTrade(int account, int symbol, boolean buySide, long tradeQuantity, long tradePriceCents,
+            LocalDateTime timestamp) {
+        begin(account, symbol);
+        buy = buySide;
+        quantity = tradeQuantity;
+        priceCents = Math.max(1, tradePriceCents);
+        timestampOverride = timestamp != null ? timestamp.withNano(0) : null;
+    }
+
+    public static long basePriceCents(int symbol) {
+        return BASE_PRICE_CENTS[symbol];
+    }
+
+    public static int symbolCount() {
+        return SYMBOLS.length;
+    }
+
+    public int accountCount() {
+        return accounts.length;
+    }
+
+    public long nextGaussianCents(long sigmaCents) {
+        return Math.round(random.nextGaussian() * sigmaCents);
+    }
+
+    public int randomAccount() {
+        return random.nextInt(accounts.length);
+    }
+
+    public int randomSymbol() {
+        return random.nextInt(SYMBOLS.length);
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    private void begin(int account, int symbol) {
+        accountIndex = account;
+        symbolIndex = symbol;
+        buy = random.nextBoolean();
+        timestampOverride = null;
+        sequence++;
+        idLength = 0;
+    }
+
+    // Base price plus Gaussian noise with the given standard deviation, never below one cent
+    private long jitter(long baseCents, long sigmaCents) {
+        return Math.max(1, baseCents + Math.round(random.nextGaussian() * sigmaCents));
+    }
+
+    /**
+     * Writes the current event as Transaction JSON into the reusable buffer
+     * and returns its length. Valid until the next call on this generator.
+     */
+    public int writeJson(long nowMillis) {
+        byte[] out = buffer;
+        int p = 0;
+        p = put(out, p, ID_FIELD);
+        p = putId(out, p);
+        p = put(out, p, ACCOUNT_FIELD);
+        p = put(out, p, accountBytes[accountIndex]);
+        p = put(out, p, SYMBOL_FIELD);
+        p = put(out, p, SYMBOL_BYTES[symbolIndex]);
+        p = put(out, p, SIDE_FIELD);
+        p = put(out, p, buy ? BUY : SELL);
+        p = put(out, p, QUANTITY_FIELD);
+        p = putLong(out, p, quantity);
+        p = put(out, p, PRICE_FIELD);
+        p = putCents(out, p, priceCents);
+        p = put(out, p, TOTAL_FIELD);
+        p = putCents(out, p, quantity * priceCents);
+        p = put(out, p, TIMESTAMP_FIELD);
+        if (timestampOverride != null) {
+            p = putTimestamp(out, p, timestampOverride);
+        } else {
+            p = put(out, p, timestampFor(nowMillis));
+        }
+        p = put(out, p, TAIL);
+        length = p;
+        return p;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // Kafka key for the current event; shared, do not modify
+    public byte[] accountKey() {
+        return accountBytes[accountIndex];
+    }
+
+    public String accountId() {
+        return accounts[accountIndex];
+    }
+
+    public String accountId(int index) {
+        return accounts[index];
+    }
+
+    public static String symbol(int index) {
+        return SYMBOLS[index];
+    }
+
+    public String transactionId() {
+        return new String(idBytes, 0, fillId(), StandardCharsets.US_ASCII);
+    }
+
+    // The current event as a model object, for logging and the object-based paths
+    public Transaction toTransaction(long nowMillis) {
+        LocalDateTime timestamp = timestampOverride != null
+                ? timestampOverride
+                : LocalDateTime.ofEpochSecond(Math.floorDiv(nowMillis, 1000), 0, offsetAt(nowMillis));
+        return new Transaction(transactionId(), accounts[accountIndex], SYMBOLS[symbolIndex], buy ? "BUY" : "SELL",
+                BigDecimal.valueOf(quantity), BigDecimal.valueOf(priceCents, 2), timestamp);
+    }
+
+    private int fillId() {
+        if (idLength == 0) {
+            int p = put(idBytes, 0, idPrefix);
+            idLength = putLong(idBytes, p, sequence);
+        }
+        return idLength;
+    }
+
+    private int putId(byte[] out, int p) {
+        int n = fillId();
+        System.arraycopy(idBytes, 0, out, p, n);
+        return p + n;
+    }
+
+    // "yyyy-MM-dd HH:mm:ss" for the current second, formatted once per second
+    private byte[] timestampFor(long nowMillis) {
+        long second = Math.floorDiv(nowMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            putTimestamp(cachedTimestamp, 0, LocalDateTime.ofEpochSecond(second, 0, offsetAt(nowMillis)));
+        }
+        return cachedTimestamp;
+    }
+
+    private ZoneOffset offsetAt(long nowMillis) {
+        return zone.getRules().getOffset(Instant.ofEpochMilli(nowMillis));
+    }
+
+    private static int putTimestamp(byte[] out, int p, LocalDateTime time) {
+        p = putDigits(out, p, time.getYear(), 4);
+        out[p++] = '-';
+        p = putDigits(out, p, time.getMonthValue(), 2);
+        out[p++] = '-';
+        p = putDigits(out, p, time.getDayOfMonth(), 2);
+        out[p++] = ' ';
+        p = putDigits(out, p, time.getHour(), 2);
+        out[p++] = ':';
+        p = putDigits(out, p, time.getMinute(), 2);
+        out[p++] = ':';
+        return putDigits(out, p, time.getSecond(), 2);
+    }
+
+    private static int putDigits(byte[] out, int p, int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            out[p + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return p + width;
+    }
+
+    private static int putCents(byte[] out, int p, long cents) {
+        p = putLong(out, p, cents / 100);
+        out[p++] = '.';
+        return putDigits(out, p, (int) (cents % 100), 2);
+    }
+
+    private static int putLong(byte[] out, int p, long value) {
+        if (value == 0) {
+            out[p] = '0';
+            return p + 1;
+        }
+        int digits = 0;
+        for (long v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = p + digits - 1; i >= p; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return p + digits;
+    }
+
+    private static int put(byte[] out, int p, byte[] bytes) {
+        System.arraycopy(bytes, 0, out, p, bytes.length);
+        return p + bytes.length;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] ascii(String[] texts) {
+        byte[][] bytes = new byte[texts.length][];
+        for (int i = 0; i < texts.length; i++) {
+            bytes[i] = ascii(texts[i]);
+        }
+        return bytes;
+    }
+}
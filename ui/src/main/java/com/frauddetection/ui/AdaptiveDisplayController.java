@@ -0,0 +1,88 @@
+package com.frauddetection.ui;
+
+/**
+ * Decides whether the live transaction table shows every row or a sample
+ * plus per-second aggregates. The FX thread reports inbound volume and its
+ * own pulse cost once per pulse; consumer threads only read the current
+ * sampling stride. Mode changes use hysteresis so the table doesn't flap.
+ */
+public class AdaptiveDisplayController {
+
+    // More rows per second than anyone can read
+    private static final double ENTER_RATE_PER_SECOND = 200.0;
+    private static final double EXIT_RATE_PER_SECOND = 100.0;
+    // Share of a 60 Hz frame the UI update work may use
+    private static final double ENTER_PULSE_MILLIS = 8.0;
+    private static final double EXIT_PULSE_MILLIS = 4.0;
+    private static final double TARGET_SAMPLED_ROWS_PER_SECOND = 50.0;
+    private static final long EXIT_HOLD_NANOS = 5_000_000_000L;
+    private static final double SMOOTHING = 0.2;
+
+    private volatile int sampleStride = 1;
+
+    private long lastRateSampleNanos;
+    private long lastInboundCount;
+    private double inboundRate;
+    private double pulseMillis;
+    private long calmSinceNanos = -1;
+
+    /**
+     * Called once per pulse on the FX thread with the total number of
+     * transactions received so far and the time the last pulse's work took.
+     * Returns true if the display mode changed.
+     */
+    public boolean onPulse(long nowNanos, long inboundCount, long pulseWorkNanos) {
+        pulseMillis += SMOOTHING * (pulseWorkNanos / 1e6 - pulseMillis);
+        if (lastRateSampleNanos == 0) {
+            lastRateSampleNanos = nowNanos;
+            lastInboundCount = inboundCount;
+            return false;
+        }
+        long elapsed = nowNanos - lastRateSampleNanos;
+        if (elapsed < 250_000_000L) {
+            return false;
+        }
+        double rate = (inboundCount - lastInboundCount) * 1e9 / elapsed;
+        inboundRate += SMOOTHING * 4 * (rate - inboundRate);
+        lastRateSampleNanos = nowNanos;
+        lastInboundCount = inboundCount;
+
+        int previousStride = sampleStride;
+        boolean overloaded = inboundRate > ENTER_RATE_PER_SECOND || pulseMillis > ENTER_PULSE_MILLIS;
+        boolean calm = inboundRate < EXIT_RATE_PER_SECOND && pulseMillis < EXIT_PULSE_MILLIS;
+        if (overloaded || (isSampling() && !calm)) {
+            calmSinceNanos = -1;
+            sampleStride = Math.max(2, (int) Math.ceil(inboundRate / TARGET_SAMPLED_ROWS_PER_SECOND));
+        } else if (isSampling()) {
+            if (calmSinceNanos < 0) {
+                calmSinceNanos = nowNanos;
+            } else if (nowNanos - calmSinceNanos >= EXIT_HOLD_NANOS) {
+                sampleStride = 1;
+                calmSinceNanos = -1;
+            }
+        }
+        return (previousStride > 1) != (sampleStride > 1);
+    }
+
+    // Read by the consumer thread: show the n-th transaction?
+    public boolean shouldDisplay(long transactionNumber) {
+        int stride = sampleStride;
+        return stride == 1 || transactionNumber % stride == 0;
+    }
+
+    public boolean isSampling() {
+        return sampleStride > 1;
+    }
+
+    public int getSampleStride() {
+        return sampleStride;
+    }
+
+    public double getInboundRate() {
+        return inboundRate;
+    }
+
+    public double getPulseMillis() {
+        return pulseMillis;
+    }
+}
@@ -0,0 +1,148 @@
+package com.frauddetection.ui;
+
+import javafx.collections.ObservableListBase;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-capacity, newest-first alert history with account, symbol and
+ * severity indexes maintained as alerts arrive and are evicted. Alerts are
+ * low-volume, so display rows are kept as objects. {@link #query} can run on
+ * any thread; everything else is FX-thread only.
+ */
+public class AlertHistoryList extends ObservableListBase<FraudDetectionApp.FraudAlertDisplayModel> {
+
+    private final int capacity;
+    private final FraudDetectionApp.FraudAlertDisplayModel[] rows;
+    private final long[] detectedAt; // local date-time as epoch seconds
+    private final int[] accountCodes;
+    private final int[] symbolCodes;
+    private final byte[] severities;
+
+    private final StringDictionary accounts = new StringDictionary();
+    private final StringDictionary symbols = new StringDictionary();
+    private final KeyIndex byAccount = new KeyIndex();
+    private final KeyIndex bySymbol = new KeyIndex();
+    private final KeyIndex bySeverity = new KeyIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long nextSequence;
+    private int size;
+
+    public AlertHistoryList(int capacity) {
+        this.capacity = capacity;
+        this.rows = new FraudDetectionApp.FraudAlertDisplayModel[capacity];
+        this.detectedAt = new long[capacity];
+        this.accountCodes = new int[capacity];
+        this.symbolCodes = new int[capacity];
+        this.severities = new byte[capacity];
+    }
+
+    // Appends alerts in arrival order (oldest first); the last one becomes row 0
+    public void append(List<FraudDetectionApp.FraudAlertDisplayModel> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int added = Math.min(batch.size(), capacity);
+        int evicted = Math.max(0, size + added - capacity);
+
+        if (evicted > 0) {
+            // Announced while the evicted slots are intact, as in TransactionHistoryList
+            long newestEvicted = nextSequence - 1 - (size - evicted);
+            lock.writeLock().lock();
+            try {
+                size -= evicted;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            fireChange(new TailRemoval<>(this, size, newestEvicted, evicted, sequence -> rows[slot(sequence)]));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = batch.size() - added; i < batch.size(); i++) {
+                write(nextSequence++, batch.get(i));
+            }
+            size += added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        beginChange();
+        nextAdd(0, added);
+        endChange();
+    }
+
+    @Override
+    public FraudDetectionApp.FraudAlertDisplayModel get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return rows[slot(nextSequence - 1 - index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Sequence numbers of the alerts matching the filter, newest first
+    public long[] query(HistoryFilter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LongDeque> indexLists = new ArrayList<>(3);
+            if (filter.accountId() != null) {
+                indexLists.add(byAccount.rows(accounts.lookup(filter.accountId())));
+            }
+            if (filter.symbol() != null) {
+                indexLists.add(bySymbol.rows(symbols.lookup(filter.symbol())));
+            }
+            if (filter.severity() != null) {
+                indexLists.add(bySeverity.rows(filter.severity().ordinal()));
+            }
+            long fromSeconds = filter.from() != null ? filter.from().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            return HistoryQueries.select(indexLists, nextSequence - size, nextSequence,
+                    sequence -> detectedAt[slot(sequence)] >= fromSeconds, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Null once the alert has been evicted
+    FraudDetectionApp.FraudAlertDisplayModel getBySequence(long sequence) {
+        if (sequence < nextSequence - size || sequence >= nextSequence) {
+            return null;
+        }
+        return rows[slot(sequence)];
+    }
+
+    private void write(long sequence, FraudDetectionApp.FraudAlertDisplayModel alert) {
+        int slot = slot(sequence);
+        if (sequence >= capacity) {
+            long evictedSequence = sequence - capacity;
+            byAccount.evict(accountCodes[slot], evictedSequence);
+            accounts.release(accountCodes[slot]);
+            if (symbolCodes[slot] >= 0) {
+                bySymbol.evict(symbolCodes[slot], evictedSequence);
+                symbols.release(symbolCodes[slot]);
+            }
+            bySeverity.evict(severities[slot], evictedSequence);
+        }
+        rows[slot] = alert;
+        detectedAt[slot] = alert.detectedAtSeconds();
+        accountCodes[slot] = accounts.encode(alert.accountId());
+        symbolCodes[slot] = alert.symbol() != null ? symbols.encode(alert.symbol()) : -1;
+        severities[slot] = (byte) alert.severityLevel().ordinal();
+
+        byAccount.add(accountCodes[slot], sequence);
+        if (symbolCodes[slot] >= 0) {
+            bySymbol.add(symbolCodes[slot], sequence);
+        }
+        bySeverity.add(severities[slot], sequence);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,106 @@
+package com.frauddetection.ui;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Observable list over the sequence numbers returned by a history query.
+ * Rows are looked up lazily, so a large result costs one long per row until
+ * it is scrolled into view. Rows evicted from the history since the query
+ * ran show as empty. A new result is announced as one replacement whose
+ * removed rows are also looked up only if a listener reads them. Must only
+ * be used from the FX thread.
+ */
+public class FilteredHistoryView<T> extends ObservableListBase<T> {
+
+    private final LongFunction<T> lookup;
+    private long[] sequences = new long[0];
+
+    public FilteredHistoryView(LongFunction<T> lookup) {
+        this.lookup = lookup;
+    }
+
+    public void setSequences(long[] newSequences) {
+        long[] oldSequences = sequences;
+        sequences = newSequences;
+        if (oldSequences.length > 0 || newSequences.length > 0) {
+            // Not nextRemove: the change builder copies every removed row up front
+            fireChange(new Replacement<>(this, newSequences.length, lazyRows(oldSequences)));
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        return lookup.apply(sequences[index]);
+    }
+
+    @Override
+    public int size() {
+        return sequences.length;
+    }
+
+    private List<T> lazyRows(long[] rows) {
+        return new AbstractList<>() {
+            @Override
+            public T get(int index) {
+                return lookup.apply(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    private static class Replacement<E> extends ListChangeListener.Change<E> {
+        private final int added;
+        private final List<E> removed;
+        private boolean started;
+
+        Replacement(ObservableList<E> list, int added, List<E> removed) {
+            super(list);
+            this.added = added;
+            this.removed = removed;
+        }
+
+        @Override
+        public boolean next() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            started = false;
+        }
+
+        @Override
+        public int getFrom() {
+            return 0;
+        }
+
+        @Override
+        public int getTo() {
+            return added;
+        }
+
+        @Override
+        public List<E> getRemoved() {
+            return removed;
+        }
+
+        @Override
+        protected int[] getPermutation() {
+            return new int[0];
+        }
+    }
+}
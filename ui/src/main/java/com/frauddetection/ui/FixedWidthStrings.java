@@ -0,0 +1,34 @@
+package com.frauddetection.ui;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Column of short Latin-1 strings stored in one preallocated byte array,
+ * a fixed number of bytes per slot. Longer values are truncated.
+ */
+class FixedWidthStrings {
+
+    private final int width;
+    private final byte[] bytes;
+    private final byte[] lengths;
+
+    FixedWidthStrings(int slots, int width) {
+        this.width = width;
+        this.bytes = new byte[slots * width];
+        this.lengths = new byte[slots];
+    }
+
+    void set(int slot, String value) {
+        int length = Math.min(value.length(), width);
+        int offset = slot * width;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            bytes[offset + i] = (byte) (c < 256 ? c : '?');
+        }
+        lengths[slot] = (byte) length;
+    }
+
+    String get(int slot) {
+        return new String(bytes, slot * width, lengths[slot], StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,960 @@
+package com.frauddetection.ui;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frauddetection.config.ExecutionMode;
+import com.frauddetection.config.KafkaConfig;
+import com.frauddetection.model.DashboardStats;
+import com.frauddetection.model.FraudAlert;
+import com.frauddetection.model.Transaction;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import javafx.util.Duration;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class FraudDetectionApp extends Application {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudDetectionApp.class);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    // Every transaction, for filter queries (fixed memory, see TransactionHistoryList)
+    private static final int TRANSACTION_HISTORY_ROWS = Integer.getInteger("fraud.ui.historyRows", 1_000_000);
+    // What the unfiltered table shows: every transaction, or a sample plus aggregates under overload
+    private static final int LIVE_TRANSACTION_ROWS = Integer.getInteger("fraud.ui.liveRows", 10_000);
+    private static final int ALERT_HISTORY_ROWS = Integer.getInteger("fraud.ui.alertHistoryRows", 100_000);
+    private static final int MAX_FILTER_RESULTS = 200_000;
+    // "stats" consumes the service's per-second stats stream instead of the raw transactions topic
+    private static final boolean STATS_MODE = "stats".equalsIgnoreCase(System.getProperty("fraud.ui.mode", "raw"));
+    // Benchmarks drive the update path directly and can pin the display to every row
+    private static final boolean KAFKA_ENABLED = Boolean.parseBoolean(System.getProperty("fraud.ui.kafka", "true"));
+    private static final boolean ADAPTIVE_DISPLAY = Boolean.parseBoolean(System.getProperty("fraud.ui.adaptiveDisplay", "true"));
+    private static final long FILTER_REFRESH_NANOS = 1_000_000_000L; // re-run an active filter at most once per second
+    private static final String ALERT_COUNT_STYLE = "-fx-font-size: 16px; -fx-text-fill: #e74c3c;";
+    private static final String ALERT_COUNT_FLASH_STYLE = "-fx-font-size: 16px; -fx-text-fill: #e74c3c; -fx-background-color: #f8d7da; -fx-padding: 2px 6px; -fx-background-radius: 3px;";
+
+    // UI Components
+    private TableView<TransactionDisplayModel> transactionTable;
+    private TableView<FraudAlertDisplayModel> alertTable;
+    private Label transactionCountLabel;
+    private Label alertCountLabel;
+    private Label statusLabel;
+    private ProgressIndicator statusIndicator;
+
+    // Data
+    private final TransactionHistoryList transactions = new TransactionHistoryList(TRANSACTION_HISTORY_ROWS);
+    private final TransactionHistoryList liveTransactions = new TransactionHistoryList(LIVE_TRANSACTION_ROWS);
+    private final AlertHistoryList alerts = new AlertHistoryList(ALERT_HISTORY_ROWS);
+
+    // Filtering: queries run on the index off the FX thread, results are shown through lazy views
+    private final FilteredHistoryView<TransactionDisplayModel> filteredTransactions =
+            new FilteredHistoryView<>(transactions::getBySequence);
+    private final FilteredHistoryView<FraudAlertDisplayModel> filteredAlerts =
+            new FilteredHistoryView<>(alerts::getBySequence);
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ui-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private TextField accountFilterField;
+    private TextField symbolFilterField;
+    private ComboBox<String> severityFilterBox;
+    private ComboBox<String> timeFilterBox;
+    private Label filterStatusLabel;
+    private PauseTransition filterDebounce;
+    private boolean filterActive;
+    private int filterGeneration;
+    private boolean filterQueryRunning;
+    private long lastFilterRefreshNanos;
+
+    // Records handed from the consumer threads to the FX thread, drained once per pulse
+    // Rows are fully formatted on the consumer threads; the FX thread only applies them
+    private final ConcurrentLinkedQueue<TransactionDisplayModel> pendingTransactions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<TransactionDisplayModel> pendingLiveRows = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<FraudAlertDisplayModel> pendingAlerts = new ConcurrentLinkedQueue<>();
+    private AnimationTimer uiPulse;
+    private long lastPulseWorkNanos;
+
+    // Switches the live table to sampled rows plus per-second aggregates under overload
+    private final AdaptiveDisplayController adaptiveDisplay = new AdaptiveDisplayController();
+    private final SecondAggregator secondAggregator = new SecondAggregator(); // transaction consumer thread only
+    private Label displayModeLabel;
+    private int shownSampleStride = 1;
+
+    // Stats mode: latest per-second stats, summarised in the header
+    private volatile DashboardStats latestStats;
+    private DashboardStats shownStats;
+    private Label statsSummaryLabel;
+    private Timeline alertFlash;
+
+    // Fed from the consumer threads; redrawn once a second from fixed-size buckets
+    private final LiveChartsPane liveCharts = new LiveChartsPane();
+
+    // Kafka: one consumer for all UI topics, decoders picked by topic
+    private static final java.time.Duration POLL_TIMEOUT = java.time.Duration.ofMillis(1000);
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long INGEST_REPORT_NANOS = 2_000_000_000L;
+    private KafkaConsumer<String, String> uiConsumer;
+    private final Map<String, RecordDecoder> decoders = new LinkedHashMap<>();
+    private final Map<String, TopicIngest> ingest = new LinkedHashMap<>();
+    private Label kafkaStatusLabel;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService kafkaExecutor;
+
+    // Counters
+    private final AtomicLong transactionCount = new AtomicLong(0);
+    private final AtomicInteger alertCount = new AtomicInteger(0);
+
+    @Override
+    public void start(Stage primaryStage) {
+        objectMapper.registerModule(new JavaTimeModule());
+
+        primaryStage.setTitle("Real-Time Fraud Detection System");
+        primaryStage.setOnCloseRequest(e -> cleanup());
+
+        // Create main layout
+        BorderPane mainLayout = createMainLayout();
+
+        // Apply queued records once per frame, then start consuming
+        startUiPulse();
+        if (KAFKA_ENABLED) {
+            setupKafkaConsumers();
+        } else {
+            logger.info("Kafka disabled (fraud.ui.kafka=false); records must be fed through the ingest methods");
+        }
+
+        // Create scene
+        Scene scene = new Scene(mainLayout, 1200, 800);
+        scene.getStylesheets().add(getClass().getResource("/styles.css").toExternalForm());
+
+        primaryStage.setScene(scene);
+        primaryStage.show();
+
+        logger.info("Fraud Detection UI started");
+    }
+
+    private BorderPane createMainLayout() {
+        BorderPane layout = new BorderPane();
+
+        // Top: Header and stats
+        VBox header = createHeader();
+        layout.setTop(header);
+
+        // Center: Tables
+        SplitPane centerPane = createCenterPane();
+        VBox centerBox = new VBox(createFilterBar(), liveCharts, centerPane);
+        VBox.setVgrow(centerPane, Priority.ALWAYS);
+        layout.setCenter(centerBox);
+
+        // Bottom: Status bar
+        HBox statusBar = createStatusBar();
+        layout.setBottom(statusBar);
+
+        return layout;
+    }
+
+    private VBox createHeader() {
+        VBox header = new VBox(10);
+        header.setPadding(new Insets(15));
+        header.setStyle("-fx-background-color: #2c3e50; -fx-text-fill: white;");
+
+        Label titleLabel = new Label("🔍 Real-Time Fraud Detection System");
+        titleLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+        HBox statsBox = new HBox(30);
+        statsBox.setPadding(new Insets(10, 0, 0, 0));
+
+        transactionCountLabel = new Label("Transactions: 0");
+        transactionCountLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #3498db;");
+
+        alertCountLabel = new Label("Fraud Alerts: 0");
+        alertCountLabel.setStyle(ALERT_COUNT_STYLE);
+
+        // One shared animation resets the flash, however many alerts arrive
+        alertFlash = new Timeline(new KeyFrame(Duration.seconds(2), e -> alertCountLabel.setStyle(ALERT_COUNT_STYLE)));
+
+        statusIndicator = new ProgressIndicator();
+        statusIndicator.setMaxSize(20, 20);
+        statusIndicator.setStyle("-fx-accent: #2ecc71;");
+
+        Label statusText = new Label("System Status: ");
+        statusText.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
+
+        statusLabel = new Label("Initializing...");
+        statusLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #f39c12;");
+
+        HBox statusBox = new HBox(5, statusText, statusLabel, statusIndicator);
+
+        statsBox.getChildren().addAll(transactionCountLabel, alertCountLabel, statusBox);
+        header.getChildren().addAll(titleLabel, statsBox);
+
+        if (STATS_MODE) {
+            statsSummaryLabel = new Label("Waiting for " + KafkaConfig.DASHBOARD_STATS_TOPIC + "...");
+            statsSummaryLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #bdc3c7;");
+            header.getChildren().add(statsSummaryLabel);
+        }
+
+        return header;
+    }
+
+    private HBox createFilterBar() {
+        HBox filterBar = new HBox(10);
+        filterBar.setPadding(new Insets(8, 10, 0, 10));
+        filterBar.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
+
+        accountFilterField = new TextField();
+        accountFilterField.setPromptText("Account");
+        accountFilterField.setPrefWidth(110);
+
+        symbolFilterField = new TextField();
+        symbolFilterField.setPromptText("Symbol");
+        symbolFilterField.setPrefWidth(90);
+
+        severityFilterBox = new ComboBox<>(FXCollections.observableArrayList(
+                "Any severity", "LOW", "MEDIUM", "HIGH", "CRITICAL"));
+        severityFilterBox.getSelectionModel().selectFirst();
+        severityFilterBox.setTooltip(new Tooltip("Applies to fraud alerts only"));
+
+        timeFilterBox = new ComboBox<>(FXCollections.observableArrayList(
+                "Any time", "Last 5 min", "Last 15 min", "Last hour", "Last 24 hours"));
+        timeFilterBox.getSelectionModel().selectFirst();
+
+        Button clearButton = new Button("Clear");
+        clearButton.setOnAction(e -> {
+            accountFilterField.clear();
+            symbolFilterField.clear();
+            severityFilterBox.getSelectionModel().selectFirst();
+            timeFilterBox.getSelectionModel().selectFirst();
+        });
+
+        filterStatusLabel = new Label();
+        filterStatusLabel.setStyle("-fx-text-fill: #7f8c8d;");
+
+        // Wait for a short pause in typing before querying
+        filterDebounce = new PauseTransition(Duration.millis(150));
+        filterDebounce.setOnFinished(e -> applyFilter());
+        accountFilterField.textProperty().addListener((obs, oldValue, newValue) -> filterDebounce.playFromStart());
+        symbolFilterField.textProperty().addListener((obs, oldValue, newValue) -> filterDebounce.playFromStart());
+        severityFilterBox.valueProperty().addListener((obs, oldValue, newValue) -> applyFilter());
+        timeFilterBox.valueProperty().addListener((obs, oldValue, newValue) -> applyFilter());
+
+        filterBar.getChildren().addAll(new Label("Filter:"), accountFilterField, symbolFilterField,
+                severityFilterBox, timeFilterBox, clearButton, filterStatusLabel);
+        return filterBar;
+    }
+
+    private HistoryFilter buildFilter() {
+        String account = accountFilterField.getText().trim().toUpperCase();
+        String symbol = symbolFilterField.getText().trim().toUpperCase();
+        int severityIndex = severityFilterBox.getSelectionModel().getSelectedIndex();
+        FraudAlert.SeverityLevel severity = severityIndex > 0
+                ? FraudAlert.SeverityLevel.values()[severityIndex - 1]
+                : null;
+        LocalDateTime from = switch (timeFilterBox.getSelectionModel().getSelectedIndex()) {
+            case 1 -> LocalDateTime.now().minusMinutes(5);
+            case 2 -> LocalDateTime.now().minusMinutes(15);
+            case 3 -> LocalDateTime.now().minusHours(1);
+            case 4 -> LocalDateTime.now().minusHours(24);
+            default -> null;
+        };
+        return new HistoryFilter(account.isEmpty() ? null : account, symbol.isEmpty() ? null : symbol, severity, from);
+    }
+
+    private void applyFilter() {
+        HistoryFilter filter = buildFilter();
+        if (filter.isEmpty()) {
+            filterActive = false;
+            filterGeneration++;
+            transactionTable.setItems(liveTransactions);
+            alertTable.setItems(alerts);
+            filteredTransactions.setSequences(new long[0]);
+            filteredAlerts.setSequences(new long[0]);
+            filterStatusLabel.setText("");
+            return;
+        }
+        filterActive = true;
+        runFilterQuery(filter);
+    }
+
+    // Queries the indexes on the filter thread and swaps the results in on the FX thread
+    private void runFilterQuery(HistoryFilter filter) {
+        int generation = ++filterGeneration;
+        filterQueryRunning = true;
+        lastFilterRefreshNanos = System.nanoTime();
+        filterExecutor.execute(() -> {
+            long start = System.nanoTime();
+            long[] transactionRows = transactions.query(filter, MAX_FILTER_RESULTS);
+            long[] alertRows = alerts.query(filter, MAX_FILTER_RESULTS);
+            double elapsedMillis = (System.nanoTime() - start) / 1e6;
+            Platform.runLater(() -> {
+                if (generation == filterGeneration) {
+                    filterQueryRunning = false;
+                    filteredTransactions.setSequences(transactionRows);
+                    filteredAlerts.setSequences(alertRows);
+                    transactionTable.setItems(filteredTransactions);
+                    alertTable.setItems(filteredAlerts);
+                    filterStatusLabel.setText(String.format("%,d transactions, %,d alerts (%.1f ms)",
+                            transactionRows.length, alertRows.length, elapsedMillis));
+                }
+            });
+        });
+    }
+
+    // New rows arrived: keep an active filter's results current without re-querying every frame
+    private void refreshFilter() {
+        if (filterActive && !filterQueryRunning
+                && System.nanoTime() - lastFilterRefreshNanos >= FILTER_REFRESH_NANOS) {
+            runFilterQuery(buildFilter());
+        }
+    }
+
+    private SplitPane createCenterPane() {
+        SplitPane splitPane = new SplitPane();
+        splitPane.setOrientation(javafx.geometry.Orientation.VERTICAL);
+        splitPane.setDividerPositions(0.6);
+
+        // Transaction table
+        VBox transactionPane = createTransactionPane();
+
+        // Alert table
+        VBox alertPane = createAlertPane();
+
+        splitPane.getItems().addAll(transactionPane, alertPane);
+
+        return splitPane;
+    }
+
+    private VBox createTransactionPane() {
+        VBox pane = new VBox(5);
+        pane.setPadding(new Insets(10));
+
+        Label titleLabel = new Label("📊 Live Transactions");
+        titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+
+        transactionTable = new TableView<>();
+        transactionTable.setItems(liveTransactions);
+
+        // Configure columns
+        TableColumn<TransactionDisplayModel, String> timeCol = new TableColumn<>("Time");
+        timeCol.setCellValueFactory(cellValue(TransactionDisplayModel::time));
+        timeCol.setPrefWidth(80);
+
+        TableColumn<TransactionDisplayModel, String> idCol = new TableColumn<>("Transaction ID");
+        idCol.setCellValueFactory(cellValue(TransactionDisplayModel::transactionId));
+        idCol.setPrefWidth(120);
+
+        TableColumn<TransactionDisplayModel, String> accountCol = new TableColumn<>("Account");
+        accountCol.setCellValueFactory(cellValue(TransactionDisplayModel::accountId));
+        accountCol.setPrefWidth(80);
+
+        TableColumn<TransactionDisplayModel, String> symbolCol = new TableColumn<>("Symbol");
+        symbolCol.setCellValueFactory(cellValue(TransactionDisplayModel::symbol));
+        symbolCol.setPrefWidth(80);
+
+        TableColumn<TransactionDisplayModel, String> sideCol = new TableColumn<>("Side");
+        sideCol.setCellValueFactory(cellValue(TransactionDisplayModel::side));
+        sideCol.setPrefWidth(60);
+
+        TableColumn<TransactionDisplayModel, String> quantityCol = new TableColumn<>("Quantity");
+        quantityCol.setCellValueFactory(cellValue(TransactionDisplayModel::quantity));
+        quantityCol.setPrefWidth(100);
+
+        TableColumn<TransactionDisplayModel, String> priceCol = new TableColumn<>("Price");
+        priceCol.setCellValueFactory(cellValue(TransactionDisplayModel::price));
+        priceCol.setPrefWidth(100);
+
+        TableColumn<TransactionDisplayModel, String> totalCol = new TableColumn<>("Total Value");
+        totalCol.setCellValueFactory(cellValue(TransactionDisplayModel::totalValue));
+        totalCol.setPrefWidth(120);
+
+        // Style side column
+        sideCol.setCellFactory(column -> new TableCell<TransactionDisplayModel, String>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    setStyle("");
+                } else {
+                    setText(item);
+                    if ("BUY".equals(item)) {
+                        setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+                    } else {
+                        setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+                    }
+                }
+            }
+        });
+
+        transactionTable.getColumns().addAll(timeCol, idCol, accountCol, symbolCol, sideCol, quantityCol, priceCol,
+                totalCol);
+
+        pane.getChildren().addAll(titleLabel, transactionTable);
+        VBox.setVgrow(transactionTable, Priority.ALWAYS);
+
+        return pane;
+    }
+
+    private VBox createAlertPane() {
+        VBox pane = new VBox(5);
+        pane.setPadding(new Insets(10));
+
+        Label titleLabel = new Label("🚨 Fraud Alerts");
+        titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #e74c3c;");
+
+        alertTable = new TableView<>();
+        alertTable.setItems(alerts);
+
+        // Configure columns
+        TableColumn<FraudAlertDisplayModel, String> timeCol = new TableColumn<>("Detected");
+        timeCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::detectedTime));
+        timeCol.setPrefWidth(80);
+
+        TableColumn<FraudAlertDisplayModel, String> alertIdCol = new TableColumn<>("Alert ID");
+        alertIdCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::alertId));
+        alertIdCol.setPrefWidth(120);
+
+        TableColumn<FraudAlertDisplayModel, String> severityCol = new TableColumn<>("Severity");
+        severityCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::severity));
+        severityCol.setPrefWidth(80);
+
+        TableColumn<FraudAlertDisplayModel, String> typeCol = new TableColumn<>("Fraud Type");
+        typeCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::fraudType));
+        typeCol.setPrefWidth(150);
+
+        TableColumn<FraudAlertDisplayModel, String> accountCol = new TableColumn<>("Account");
+        accountCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::accountId));
+        accountCol.setPrefWidth(80);
+
+        TableColumn<FraudAlertDisplayModel, String> riskCol = new TableColumn<>("Risk Score");
+        riskCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::riskScore));
+        riskCol.setPrefWidth(80);
+
+        TableColumn<FraudAlertDisplayModel, String> descCol = new TableColumn<>("Description");
+        descCol.setCellValueFactory(cellValue(FraudAlertDisplayModel::description));
+        descCol.setPrefWidth(300);
+
+        // Style severity column
+        severityCol.setCellFactory(column -> new TableCell<FraudAlertDisplayModel, String>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    setStyle("");
+                } else {
+                    setText(item);
+                    switch (item) {
+                        case "CRITICAL" -> setStyle("-fx-text-fill: #c0392b; -fx-font-weight: bold;");
+                        case "HIGH" -> setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+                        case "MEDIUM" -> setStyle("-fx-text-fill: #f39c12; -fx-font-weight: bold;");
+                        case "LOW" -> setStyle("-fx-text-fill: #f1c40f;");
+                    }
+                }
+            }
+        });
+
+        alertTable.getColumns().addAll(timeCol, alertIdCol, severityCol, typeCol, accountCol, riskCol, descCol);
+
+        pane.getChildren().addAll(titleLabel, alertTable);
+        VBox.setVgrow(alertTable, Priority.ALWAYS);
+
+        return pane;
+    }
+
+    // Typed, reflection-free cell values; rows are pre-formatted so this only returns cached strings
+    private static <T> Callback<TableColumn.CellDataFeatures<T, String>, ObservableValue<String>> cellValue(
+            Function<T, String> getter) {
+        return cell -> new ReadOnlyObjectWrapper<>(cell.getValue() != null ? getter.apply(cell.getValue()) : null);
+    }
+
+    private HBox createStatusBar() {
+        HBox statusBar = new HBox();
+        statusBar.setPadding(new Insets(5, 15, 5, 15));
+        statusBar.setStyle("-fx-background-color: #34495e;");
+
+        kafkaStatusLabel = new Label("Kafka: connecting...");
+        kafkaStatusLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-size: 12px;");
+
+        displayModeLabel = new Label(STATS_MODE
+                ? "Display: per-second stats from " + KafkaConfig.DASHBOARD_STATS_TOPIC
+                : "Display: all transactions");
+        displayModeLabel.setStyle("-fx-text-fill: #bdc3c7; -fx-font-size: 12px;");
+        HBox.setMargin(displayModeLabel, new Insets(0, 0, 0, 20));
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        Label timestamp = new Label(
+                "Last Update: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        timestamp.setStyle("-fx-text-fill: #bdc3c7; -fx-font-size: 12px;");
+
+        statusBar.getChildren().addAll(kafkaStatusLabel, displayModeLabel, spacer, timestamp);
+
+        return statusBar;
+    }
+
+    private void setupKafkaConsumers() {
+        logger.info("Setting up Kafka consumer for UI");
+
+        // One consumer for both topics: the transaction feed (raw or per-second stats) and alerts
+        String transactionTopic = STATS_MODE ? KafkaConfig.DASHBOARD_STATS_TOPIC : KafkaConfig.TRANSACTIONS_TOPIC;
+        String group = STATS_MODE ? "ui-dashboard-stats" : "ui-dashboard";
+        decoders.put(transactionTopic, STATS_MODE ? this::handleStats : this::handleTransaction);
+        decoders.put(KafkaConfig.FRAUD_ALERTS_TOPIC, this::handleAlert);
+        decoders.put(KafkaConfig.FRAUD_ALERTS_PRIORITY_TOPIC, this::handleAlert); // used with fraud.alerts.priorityTopic
+        decoders.keySet().forEach(topic -> ingest.put(topic, new TopicIngest()));
+
+        logger.info("Creating UI consumer with group: {}", group);
+        uiConsumer = new KafkaConsumer<>(KafkaConfig.getConsumerProps(group));
+        uiConsumer.subscribe(new ArrayList<>(decoders.keySet()));
+        logger.info("Subscribed to topics: {}", decoders.keySet());
+
+        // Start Kafka polling in background
+        kafkaExecutor = ExecutionMode.newBlockingExecutor("ui-kafka", 1);
+
+        logger.info("Starting Kafka consumer thread");
+        kafkaExecutor.submit(this::consumeRecords);
+
+        Platform.runLater(() -> {
+            statusLabel.setText("Running");
+            statusLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #2ecc71;");
+        });
+
+        logger.info("Kafka consumer setup completed");
+    }
+
+    // Single poll loop: dispatches by topic, backs off on connection trouble, reports lag and ingest rate
+    private void consumeRecords() {
+        logger.info("Starting UI consumer thread");
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        boolean reconnecting = false;
+        long lastReportNanos = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    ConsumerRecords<String, String> records = uiConsumer.poll(POLL_TIMEOUT);
+                    if (reconnecting) {
+                        reconnecting = false;
+                        backoffMillis = INITIAL_BACKOFF_MILLIS;
+                        setConnectionStatus("Running", "#2ecc71");
+                    }
+
+                    for (ConsumerRecord<String, String> record : records) {
+                        TopicIngest topicIngest = ingest.get(record.topic());
+                        long start = System.nanoTime();
+                        try {
+                            decoders.get(record.topic()).accept(record);
+                        } catch (Exception e) {
+                            topicIngest.errors++;
+                            logger.error("Error decoding {} record: {}", record.topic(), e.getMessage(), e);
+                        }
+                        topicIngest.records++;
+                        topicIngest.decodeNanos += System.nanoTime() - start;
+                    }
+
+                    long now = System.nanoTime();
+                    if (now - lastReportNanos >= INGEST_REPORT_NANOS) {
+                        reportIngest(now - lastReportNanos);
+                        lastReportNanos = now;
+                    }
+                } catch (WakeupException e) {
+                    logger.info("UI consumer woken up - shutting down");
+                    break;
+                } catch (org.apache.kafka.common.errors.InterruptException e) {
+                    logger.info("UI consumer interrupted - shutting down gracefully");
+                    break;
+                } catch (Exception e) {
+                    logger.warn("Kafka connection issue in UI consumer: {}. Retrying in {} ms...",
+                            e.getMessage(), backoffMillis);
+                    reconnecting = true;
+                    setConnectionStatus("Reconnecting...", "#f39c12");
+                    try {
+                        Thread.sleep(backoffMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Fatal error in UI consumer", e);
+        } finally {
+            // Close from the polling thread; KafkaConsumer is not thread-safe
+            try {
+                uiConsumer.close(java.time.Duration.ofSeconds(2));
+            } catch (Exception e) {
+                logger.debug("Error closing UI consumer", e);
+            }
+            logger.info("UI consumer thread stopped");
+        }
+    }
+
+    private void handleTransaction(ConsumerRecord<String, String> record) throws Exception {
+        ingestTransaction(objectMapper.readValue(record.value(), Transaction.class), record.timestamp());
+    }
+
+    /**
+     * Hands a transaction to the UI update path, as the consumer does for each
+     * record. Callable from any single non-FX thread.
+     */
+    public void ingestTransaction(Transaction transaction, long timestampMillis) {
+        long number = transactionCount.incrementAndGet();
+        liveCharts.recordTransaction(timestampMillis);
+
+        // Every transaction goes into the filterable history; under overload the live table shows only a
+        // sample, plus one aggregate per second
+        TransactionDisplayModel row = TransactionDisplayModel.from(transaction);
+        pendingTransactions.offer(row);
+        SecondAggregator.Aggregate aggregate = secondAggregator.add(transaction, System.currentTimeMillis());
+        if (aggregate != null && adaptiveDisplay.isSampling()) {
+            pendingLiveRows.addAll(aggregateRows(aggregate));
+        }
+        if (adaptiveDisplay.shouldDisplay(number)) {
+            pendingLiveRows.offer(row);
+        }
+    }
+
+    // Stats mode: dashboard cost follows the stats stream, not the transaction volume
+    private void handleStats(ConsumerRecord<String, String> record) throws Exception {
+        DashboardStats stats = objectMapper.readValue(record.value(), DashboardStats.class);
+        transactionCount.addAndGet(stats.transactions());
+        liveCharts.recordTransactions(stats.epochSecond() * 1000, stats.transactions());
+        pendingLiveRows.addAll(summaryRows(stats.epochSecond(), stats.transactions(), stats.notional(),
+                stats.bySymbol()));
+        latestStats = stats;
+    }
+
+    private void handleAlert(ConsumerRecord<String, String> record) throws Exception {
+        ingestAlert(objectMapper.readValue(record.value(), FraudAlert.class), record.timestamp(),
+                detectionLatencyMillis(record));
+    }
+
+    /**
+     * Hands an alert to the UI update path; a negative latency means unknown.
+     * Callable from any single non-FX thread.
+     */
+    public void ingestAlert(FraudAlert alert, long timestampMillis, long latencyMillis) {
+        pendingAlerts.offer(FraudAlertDisplayModel.from(alert));
+        liveCharts.recordAlert(alert.getFraudType(), timestampMillis, latencyMillis);
+    }
+
+    // Records queued for the FX thread but not yet applied; walks the queues, so not for hot paths
+    public int getPendingUpdateCount() {
+        return pendingTransactions.size() + pendingLiveRows.size() + pendingAlerts.size();
+    }
+
+    // FX thread: time the last pulse spent applying queued records
+    public long getLastPulseWorkNanos() {
+        return lastPulseWorkNanos;
+    }
+
+    // Runs on the consumer thread: per-topic rate, decode cost and lag, shown in the status bar
+    private void reportIngest(long elapsedNanos) {
+        Map<String, Long> lagByTopic = new HashMap<>();
+        for (TopicPartition partition : uiConsumer.assignment()) {
+            OptionalLong lag = uiConsumer.currentLag(partition);
+            if (lag.isPresent()) {
+                lagByTopic.merge(partition.topic(), lag.getAsLong(), Long::sum);
+            }
+        }
+
+        StringBuilder text = new StringBuilder("Kafka: ");
+        for (Map.Entry<String, TopicIngest> entry : ingest.entrySet()) {
+            TopicIngest topicIngest = entry.getValue();
+            double perSecond = topicIngest.records * 1e9 / elapsedNanos;
+            double micros = topicIngest.records > 0 ? topicIngest.decodeNanos / 1e3 / topicIngest.records : 0;
+            Long lag = lagByTopic.get(entry.getKey());
+            text.append(String.format("%s %,.0f/s (%.1f µs, lag %s)   ", entry.getKey(), perSecond, micros,
+                    lag != null ? String.format("%,d", lag) : "?"));
+            logger.debug("UI ingest {}: {} records, {} errors, {} ns decode, lag {}", entry.getKey(),
+                    topicIngest.records, topicIngest.errors, topicIngest.decodeNanos, lag);
+            topicIngest.records = 0;
+            topicIngest.decodeNanos = 0;
+            topicIngest.errors = 0;
+        }
+        String status = text.toString().trim();
+        Platform.runLater(() -> kafkaStatusLabel.setText(status));
+    }
+
+    private void setConnectionStatus(String text, String color) {
+        Platform.runLater(() -> {
+            statusLabel.setText(text);
+            statusLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: " + color + ";");
+            kafkaStatusLabel.setStyle("-fx-text-fill: " + color + "; -fx-font-size: 12px;");
+        });
+    }
+
+    // Consumer thread only
+    private static class TopicIngest {
+        long records;
+        long decodeNanos;
+        long errors;
+    }
+
+    // Alert record time minus the source transaction's record time, or -1 when the header is missing
+    private static long detectionLatencyMillis(ConsumerRecord<String, String> record) {
+        Header header = record.headers().lastHeader(KafkaConfig.SOURCE_TIMESTAMP_HEADER);
+        if (header == null) {
+            return -1;
+        }
+        try {
+            long sourceTimestamp = Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+            return Math.max(0, record.timestamp() - sourceTimestamp);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void startUiPulse() {
+        uiPulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                long start = System.nanoTime();
+                applyPendingTransactions();
+                applyPendingAlerts();
+                refreshFilter();
+                if (STATS_MODE) {
+                    updateStatsSummary();
+                } else if (ADAPTIVE_DISPLAY) {
+                    adaptiveDisplay.onPulse(now, transactionCount.get(), System.nanoTime() - start);
+                    updateDisplayModeLabel();
+                }
+                lastPulseWorkNanos = System.nanoTime() - start;
+            }
+        };
+        uiPulse.start();
+    }
+
+    // Runs on the FX thread: one change per list and one label update per pulse
+    private void applyPendingTransactions() {
+        List<TransactionDisplayModel> batch = drain(pendingTransactions);
+        List<TransactionDisplayModel> liveBatch = drain(pendingLiveRows);
+        if (batch.isEmpty() && liveBatch.isEmpty()) {
+            return;
+        }
+        transactions.append(batch);
+        liveTransactions.append(liveBatch);
+        transactionCountLabel.setText("Transactions: " + transactionCount.get());
+        logger.debug("Applied {} transactions, {} shown, to UI", batch.size(), liveBatch.size());
+    }
+
+    private void applyPendingAlerts() {
+        List<FraudAlertDisplayModel> batch = drain(pendingAlerts);
+        if (batch.isEmpty()) {
+            return;
+        }
+        alerts.append(batch);
+        alertCountLabel.setText("Fraud Alerts: " + alertCount.addAndGet(batch.size()));
+
+        // Flash the alert count for attention
+        alertCountLabel.setStyle(ALERT_COUNT_FLASH_STYLE);
+        alertFlash.playFromStart();
+    }
+
+    private void updateDisplayModeLabel() {
+        int stride = adaptiveDisplay.getSampleStride();
+        if (stride == shownSampleStride) {
+            return;
+        }
+        if (stride > 1) {
+            displayModeLabel.setText(String.format(
+                    "Display: sampled 1 in %d + per-second aggregates (%.0f tx/s inbound, alerts shown in full)",
+                    stride, adaptiveDisplay.getInboundRate()));
+            displayModeLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-size: 12px;");
+        } else {
+            displayModeLabel.setText("Display: all transactions");
+            displayModeLabel.setStyle("-fx-text-fill: #bdc3c7; -fx-font-size: 12px;");
+        }
+        if ((stride > 1) != (shownSampleStride > 1)) {
+            logger.info("UI display mode: {}", displayModeLabel.getText());
+        }
+        shownSampleStride = stride;
+    }
+
+    private void updateStatsSummary() {
+        DashboardStats stats = latestStats;
+        if (stats == null || stats == shownStats) {
+            return;
+        }
+        shownStats = stats;
+        statsSummaryLabel.setText(String.format("Top accounts (1 min): %s    Rules (last second): %s",
+                formatCounts(stats.topAccounts(), 5), formatCounts(stats.byRule(), 5)));
+    }
+
+    private static String formatCounts(Map<String, Long> counts, int limit) {
+        if (counts == null || counts.isEmpty()) {
+            return "-";
+        }
+        StringBuilder text = new StringBuilder();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(e -> text.append(text.length() > 0 ? ", " : "").append(e.getKey()).append(' ')
+                        .append(e.getValue()));
+        return text.toString();
+    }
+
+    // Busiest symbols first, then the total, so the total row ends up on top
+    private static final int AGGREGATE_SYMBOL_ROWS = 5;
+
+    private static List<TransactionDisplayModel> aggregateRows(SecondAggregator.Aggregate aggregate) {
+        Map<String, DashboardStats.SymbolStats> bySymbol = new HashMap<>();
+        aggregate.bySymbol().forEach((symbol, totals) ->
+                bySymbol.put(symbol, new DashboardStats.SymbolStats(totals.count, totals.notional)));
+        return summaryRows(aggregate.epochSecond(), aggregate.total().count, aggregate.total().notional, bySymbol);
+    }
+
+    private static List<TransactionDisplayModel> summaryRows(long epochSecond, long count, double notional,
+            Map<String, DashboardStats.SymbolStats> bySymbol) {
+        LocalDateTime second = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+        List<TransactionDisplayModel> rows = new ArrayList<>(AGGREGATE_SYMBOL_ROWS + 1);
+        if (bySymbol != null) {
+            bySymbol.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().count()))
+                    .skip(Math.max(0, bySymbol.size() - AGGREGATE_SYMBOL_ROWS))
+                    .forEach(e -> rows.add(TransactionDisplayModel.aggregate(second, e.getKey(),
+                            e.getValue().count(), e.getValue().notional())));
+        }
+        rows.add(TransactionDisplayModel.aggregate(second, "ALL", count, notional));
+        return rows;
+    }
+
+    private static <T> List<T> drain(ConcurrentLinkedQueue<T> queue) {
+        List<T> batch = new ArrayList<>();
+        T item;
+        while ((item = queue.poll()) != null) {
+            batch.add(item);
+        }
+        return batch;
+    }
+
+    private void cleanup() {
+        logger.info("Shutting down Fraud Detection UI...");
+
+        if (uiPulse != null) {
+            uiPulse.stop();
+        }
+        filterExecutor.shutdownNow();
+        liveCharts.stop();
+
+        // The poll loop closes the consumer on its own thread; interrupting also ends a backoff sleep
+        if (uiConsumer != null) {
+            uiConsumer.wakeup();
+        }
+
+        if (kafkaExecutor != null) {
+            kafkaExecutor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordDecoder {
+        void accept(ConsumerRecord<String, String> record) throws Exception;
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    // Display Models: immutable, pre-formatted off the FX thread
+    public record TransactionDisplayModel(String time, String transactionId, String accountId, String symbol,
+            String side, String quantity, String price, String totalValue, long timestampSeconds) {
+
+        public static TransactionDisplayModel from(Transaction transaction) {
+            return new TransactionDisplayModel(
+                    transaction.getTimestamp().format(TIME_FORMATTER),
+                    transaction.getTransactionId(),
+                    transaction.getAccountId(),
+                    transaction.getSymbol(),
+                    transaction.getSide(),
+                    transaction.getQuantity().toString(),
+                    "$" + transaction.getPrice().toString(),
+                    "$" + transaction.getTotalValue().toString(),
+                    transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        }
+
+        // Per-second summary row shown in sampled mode
+        public static TransactionDisplayModel aggregate(LocalDateTime second, String symbol, long count,
+                double notional) {
+            return new TransactionDisplayModel(
+                    second.format(TIME_FORMATTER),
+                    String.format("AGG %,d tx/s", count),
+                    "*",
+                    symbol,
+                    "",
+                    String.valueOf(count),
+                    "",
+                    String.format("$%,.2f", notional),
+                    second.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        public boolean isAggregate() {
+            return "*".equals(accountId);
+        }
+    }
+
+    public record FraudAlertDisplayModel(String detectedTime, String alertId, String severity, String fraudType,
+            String accountId, String riskScore, String description, String symbol,
+            FraudAlert.SeverityLevel severityLevel, long detectedAtSeconds) {
+
+        public static FraudAlertDisplayModel from(FraudAlert alert) {
+            Transaction transaction = alert.getSuspiciousTransaction();
+            return new FraudAlertDisplayModel(
+                    alert.getDetectedAt().format(TIME_FORMATTER),
+                    alert.getAlertId(),
+                    alert.getSeverity().toString(),
+                    alert.getFraudType().toString(),
+                    alert.getAccountId(),
+                    alert.getRiskScore().multiply(new BigDecimal("100")).setScale(1, RoundingMode.HALF_UP) + "%",
+                    alert.getDescription(),
+                    transaction != null ? transaction.getSymbol() : null,
+                    alert.getSeverity(),
+                    alert.getDetectedAt().toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.frauddetection.ui;
+
+import com.frauddetection.model.FraudAlert;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter over the UI history. Null fields match everything; severity only
+ * applies to alerts.
+ */
+public record HistoryFilter(String accountId, String symbol, FraudAlert.SeverityLevel severity, LocalDateTime from) {
+
+    public static final HistoryFilter NONE = new HistoryFilter(null, null, null, null);
+
+    public boolean isEmpty() {
+        return accountId == null && symbol == null && severity == null && from == null;
+    }
+}
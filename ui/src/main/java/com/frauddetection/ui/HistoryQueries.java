@@ -0,0 +1,65 @@
+package com.frauddetection.ui;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Shared query evaluation for the indexed history lists.
+ */
+final class HistoryQueries {
+
+    private HistoryQueries() {
+    }
+
+    /**
+     * Returns matching sequence numbers, newest first. Rows must appear in
+     * every index list given and pass the row filter. Without index lists all
+     * live rows from {@code oldest} to {@code next - 1} are scanned.
+     */
+    static long[] select(List<LongDeque> indexLists, long oldest, long next, LongPredicate rowFilter, int limit) {
+        long[] result = new long[Math.min(limit, 1024)];
+        int count = 0;
+        if (indexLists.isEmpty()) {
+            for (long sequence = next - 1; sequence >= oldest && count < limit; sequence--) {
+                if (rowFilter.test(sequence)) {
+                    result = ensureCapacity(result, count, limit);
+                    result[count++] = sequence;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        // Drive from the most selective list, probe the others
+        LongDeque driver = indexLists.get(0);
+        for (LongDeque list : indexLists) {
+            if (list.size() < driver.size()) {
+                driver = list;
+            }
+        }
+        for (int i = driver.size() - 1; i >= 0 && count < limit; i--) {
+            long sequence = driver.get(i);
+            if (sequence < oldest) {
+                break;
+            }
+            if (containedInAll(indexLists, driver, sequence) && rowFilter.test(sequence)) {
+                result = ensureCapacity(result, count, limit);
+                result[count++] = sequence;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static boolean containedInAll(List<LongDeque> lists, LongDeque driver, long sequence) {
+        for (LongDeque list : lists) {
+            if (list != driver && !list.contains(sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] ensureCapacity(long[] array, int count, int limit) {
+        return count < array.length ? array : Arrays.copyOf(array, Math.min(limit, array.length * 2));
+    }
+}
@@ -0,0 +1,37 @@
+package com.frauddetection.ui;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Secondary index from a dictionary code (account, symbol, severity) to the
+ * ascending sequence numbers of the history rows carrying it. Rows are added
+ * as they arrive and removed as the ring buffer evicts them, so the index
+ * never needs a rebuild.
+ */
+class KeyIndex {
+
+    private static final LongDeque EMPTY = new LongDeque();
+
+    private final Map<Integer, LongDeque> rows = new HashMap<>();
+
+    void add(int code, long sequence) {
+        rows.computeIfAbsent(code, k -> new LongDeque()).addLast(sequence);
+    }
+
+    // Called for the oldest row when it is evicted, which is always the head of its list
+    void evict(int code, long sequence) {
+        LongDeque list = rows.get(code);
+        if (list != null && !list.isEmpty() && list.peekFirst() == sequence) {
+            list.removeFirst();
+            if (list.isEmpty()) {
+                rows.remove(code);
+            }
+        }
+    }
+
+    LongDeque rows(int code) {
+        LongDeque list = code < 0 ? null : rows.get(code);
+        return list != null ? list : EMPTY;
+    }
+}
@@ -0,0 +1,235 @@
+package com.frauddetection.ui;
+
+import com.frauddetection.model.FraudAlert;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live throughput, alert-rate and detection-latency charts. Consumer threads
+ * record into fixed-size one-second buckets; once a second the visible window
+ * is read out and reduced with LTTB to roughly one point per two pixels, so
+ * the number of chart points stays bounded however much history is kept.
+ */
+final class LiveChartsPane extends TitledPane {
+
+    private static final DateTimeFormatter AXIS_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final long BUCKET_MILLIS = 1000;
+    private static final int HISTORY_BUCKETS = Integer.getInteger("fraud.ui.chartHistoryMinutes", 360) * 60;
+    private static final int MAX_POINTS = 1000;
+    private static final String[] WINDOW_LABELS = {"Last 5 min", "Last 30 min", "Last hour", "Last 6 hours"};
+    private static final long[] WINDOW_MILLIS = {300_000L, 1_800_000L, 3_600_000L, 21_600_000L};
+
+    private final TimeBucketSeries transactionRate = new TimeBucketSeries(BUCKET_MILLIS, HISTORY_BUCKETS);
+    private final TimeBucketSeries latency = new TimeBucketSeries(BUCKET_MILLIS, HISTORY_BUCKETS);
+    private final Map<FraudAlert.FraudType, TimeBucketSeries> alertRates = new EnumMap<>(FraudAlert.FraudType.class);
+
+    private final LineChart<Number, Number> transactionChart;
+    private final LineChart<Number, Number> alertChart;
+    private final LineChart<Number, Number> latencyChart;
+    private final XYChart.Series<Number, Number> transactionSeries = new XYChart.Series<>();
+    private final XYChart.Series<Number, Number> latencyMeanSeries = new XYChart.Series<>();
+    private final XYChart.Series<Number, Number> latencyMaxSeries = new XYChart.Series<>();
+    private final Map<FraudAlert.FraudType, XYChart.Series<Number, Number>> alertSeries =
+            new EnumMap<>(FraudAlert.FraudType.class);
+    private final ComboBox<String> windowBox;
+    private final Label pointsLabel = new Label();
+    private final Timeline refreshTimer;
+
+    // Scratch buffers, FX thread only
+    private final double[] rawX = new double[HISTORY_BUCKETS];
+    private final double[] rawY = new double[HISTORY_BUCKETS];
+    private final double[] outX = new double[MAX_POINTS];
+    private final double[] outY = new double[MAX_POINTS];
+    private int shownPoints;
+
+    LiveChartsPane() {
+        for (FraudAlert.FraudType type : FraudAlert.FraudType.values()) {
+            alertRates.put(type, new TimeBucketSeries(BUCKET_MILLIS, HISTORY_BUCKETS));
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(type.name());
+            alertSeries.put(type, series);
+        }
+        transactionSeries.setName("Transactions/sec");
+        latencyMeanSeries.setName("Mean ms");
+        latencyMaxSeries.setName("Max ms");
+
+        transactionChart = createChart("Transactions / sec");
+        transactionChart.getData().add(transactionSeries);
+        transactionChart.setLegendVisible(false);
+        alertChart = createChart("Alerts / sec by type");
+        latencyChart = createChart("Detection latency (ms)");
+        latencyChart.getData().add(latencyMeanSeries);
+        latencyChart.getData().add(latencyMaxSeries);
+
+        windowBox = new ComboBox<>(FXCollections.observableArrayList(WINDOW_LABELS));
+        windowBox.getSelectionModel().selectFirst();
+        windowBox.valueProperty().addListener((obs, oldValue, newValue) -> refresh());
+        pointsLabel.setStyle("-fx-text-fill: #7f8c8d;");
+
+        HBox charts = new HBox(5, transactionChart, alertChart, latencyChart);
+        for (LineChart<Number, Number> chart : List.of(transactionChart, alertChart, latencyChart)) {
+            HBox.setHgrow(chart, Priority.ALWAYS);
+        }
+        HBox controls = new HBox(10, new Label("Window:"), windowBox, pointsLabel);
+        controls.setAlignment(Pos.CENTER_LEFT);
+
+        setText("📈 Live Charts");
+        setContent(new VBox(5, controls, charts));
+        setExpanded(true);
+
+        // Only redraw while visible
+        refreshTimer = new Timeline(new KeyFrame(Duration.seconds(1), e -> refresh()));
+        refreshTimer.setCycleCount(Timeline.INDEFINITE);
+        expandedProperty().addListener((obs, oldValue, expanded) -> {
+            if (expanded) {
+                refreshTimer.play();
+                refresh();
+            } else {
+                refreshTimer.stop();
+            }
+        });
+        refreshTimer.play();
+    }
+
+    // Thread-safe: called from the consumer threads
+    void recordTransaction(long timestampMillis) {
+        transactionRate.add(timestampMillis, 1);
+    }
+
+    // Pre-counted transactions, e.g. from the dashboard stats stream
+    void recordTransactions(long timestampMillis, long count) {
+        transactionRate.add(timestampMillis, count);
+    }
+
+    // Thread-safe; a negative latency means it is unknown for this alert
+    void recordAlert(FraudAlert.FraudType type, long timestampMillis, long latencyMillis) {
+        if (type != null) {
+            alertRates.get(type).add(timestampMillis, 1);
+        }
+        if (latencyMillis >= 0) {
+            latency.add(timestampMillis, latencyMillis);
+        }
+    }
+
+    void stop() {
+        refreshTimer.stop();
+    }
+
+    private LineChart<Number, Number> createChart(String title) {
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setAutoRanging(false);
+        xAxis.setMinorTickVisible(false);
+        xAxis.setTickLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Number epochSeconds) {
+                return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds.longValue()), ZoneId.systemDefault())
+                        .format(AXIS_FORMATTER);
+            }
+
+            @Override
+            public Number fromString(String text) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setForceZeroInRange(true);
+
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setTitle(title);
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false); // no node per data point
+        chart.setPrefHeight(220);
+        chart.setMinWidth(200);
+        return chart;
+    }
+
+    private void refresh() {
+        if (!isExpanded()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long to = Math.floorDiv(now, BUCKET_MILLIS) * BUCKET_MILLIS; // exclude the bucket still filling
+        long from = to - WINDOW_MILLIS[Math.max(0, windowBox.getSelectionModel().getSelectedIndex())];
+        shownPoints = 0;
+
+        setAxisRange(transactionChart, from, to);
+        fill(transactionSeries, transactionRate, TimeBucketSeries.Stat.RATE, from, to, transactionChart);
+
+        setAxisRange(alertChart, from, to);
+        for (FraudAlert.FraudType type : FraudAlert.FraudType.values()) {
+            TimeBucketSeries rates = alertRates.get(type);
+            XYChart.Series<Number, Number> series = alertSeries.get(type);
+            boolean active = rates.count(from, to) > 0;
+            if (active) {
+                if (!alertChart.getData().contains(series)) {
+                    alertChart.getData().add(series);
+                }
+                fill(series, rates, TimeBucketSeries.Stat.RATE, from, to, alertChart);
+            } else {
+                alertChart.getData().remove(series);
+            }
+        }
+
+        setAxisRange(latencyChart, from, to);
+        fill(latencyMeanSeries, latency, TimeBucketSeries.Stat.MEAN, from, to, latencyChart);
+        fill(latencyMaxSeries, latency, TimeBucketSeries.Stat.MAX, from, to, latencyChart);
+
+        pointsLabel.setText(String.format("%,d points drawn", shownPoints));
+    }
+
+    private static void setAxisRange(LineChart<Number, Number> chart, long fromMillis, long toMillis) {
+        NumberAxis xAxis = (NumberAxis) chart.getXAxis();
+        xAxis.setLowerBound(fromMillis / 1000.0);
+        xAxis.setUpperBound(toMillis / 1000.0);
+        xAxis.setTickUnit((toMillis - fromMillis) / 1000.0 / 5);
+    }
+
+    // Reads the window and downsamples it to the chart's pixel width, reusing data objects
+    private void fill(XYChart.Series<Number, Number> series, TimeBucketSeries source, TimeBucketSeries.Stat stat,
+            long fromMillis, long toMillis, LineChart<Number, Number> chart) {
+        int length = source.read(fromMillis, toMillis, stat, rawX, rawY);
+        int threshold = Math.max(3, Math.min(MAX_POINTS, (int) (chart.getWidth() / 2)));
+        int n = Lttb.downsample(rawX, rawY, length, threshold, outX, outY);
+
+        ObservableList<XYChart.Data<Number, Number>> data = series.getData();
+        int reused = Math.min(n, data.size());
+        for (int i = 0; i < reused; i++) {
+            XYChart.Data<Number, Number> point = data.get(i);
+            point.setXValue(outX[i]);
+            point.setYValue(outY[i]);
+        }
+        if (data.size() > n) {
+            data.remove(n, data.size());
+        } else if (n > reused) {
+            List<XYChart.Data<Number, Number>> added = new ArrayList<>(n - reused);
+            for (int i = reused; i < n; i++) {
+                added.add(new XYChart.Data<>(outX[i], outY[i]));
+            }
+            data.addAll(added);
+        }
+        shownPoints += n;
+    }
+}
@@ -0,0 +1,71 @@
+package com.frauddetection.ui;
+
+import java.util.Arrays;
+
+/**
+ * Growable ring of primitive longs, used for the ascending row-sequence
+ * lists of the history indexes. Appends at the tail, evicts from the head.
+ */
+class LongDeque {
+
+    private long[] values = new long[8];
+    private int head;
+    private int size;
+
+    void addLast(long value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    long peekFirst() {
+        return values[head];
+    }
+
+    void removeFirst() {
+        head = (head + 1) & (values.length - 1);
+        size--;
+    }
+
+    long get(int index) {
+        return values[(head + index) & (values.length - 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Values are ascending, so membership is a binary search
+    boolean contains(long value) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midValue = get(mid);
+            if (midValue < value) {
+                low = mid + 1;
+            } else if (midValue > value) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void grow() {
+        long[] grown = new long[values.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = get(i);
+        }
+        Arrays.fill(values, 0L);
+        values = grown;
+        head = 0;
+    }
+}
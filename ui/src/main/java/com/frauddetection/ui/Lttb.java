@@ -0,0 +1,66 @@
+package com.frauddetection.ui;
+
+/**
+ * Largest-triangle-three-buckets downsampling. Keeps the first and last
+ * point and, from each bucket in between, the point forming the largest
+ * triangle with the previously kept point and the next bucket's average,
+ * which preserves peaks and dips that plain averaging would flatten.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Reduces the first {@code length} points of xs/ys to at most
+     * {@code threshold} points written to outX/outY; returns the count.
+     */
+    static int downsample(double[] xs, double[] ys, int length, int threshold, double[] outX, double[] outY) {
+        if (threshold >= length || threshold < 3) {
+            int n = Math.min(length, outX.length);
+            System.arraycopy(xs, 0, outX, 0, n);
+            System.arraycopy(ys, 0, outY, 0, n);
+            return n;
+        }
+
+        double every = (double) (length - 2) / (threshold - 2);
+        int kept = 0;
+        int a = 0;
+        outX[kept] = xs[0];
+        outY[kept++] = ys[0];
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average of the next bucket is the third triangle vertex
+            int avgStart = (int) ((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) ((i + 2) * every) + 1, length);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += xs[j];
+                avgY += ys[j];
+            }
+            int avgLength = Math.max(1, avgEnd - avgStart);
+            avgX /= avgLength;
+            avgY /= avgLength;
+
+            int rangeStart = (int) (i * every) + 1;
+            int rangeEnd = (int) ((i + 1) * every) + 1;
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((xs[a] - avgX) * (ys[j] - ys[a]) - (xs[a] - xs[j]) * (avgY - ys[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            outX[kept] = xs[next];
+            outY[kept++] = ys[next];
+            a = next;
+        }
+
+        outX[kept] = xs[length - 1];
+        outY[kept++] = ys[length - 1];
+        return kept;
+    }
+}
@@ -0,0 +1,51 @@
+package com.frauddetection.ui;
+
+import com.frauddetection.model.Transaction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rolls transactions up into one aggregate per second: count and notional,
+ * overall and per symbol. Used by the transaction consumer thread only.
+ */
+class SecondAggregator {
+
+    private long currentSecond = Long.MIN_VALUE;
+    private SymbolTotals total = new SymbolTotals();
+    private Map<String, SymbolTotals> bySymbol = new HashMap<>();
+
+    /**
+     * Adds a transaction and returns the previous second's aggregate when
+     * this transaction starts a new second, otherwise null.
+     */
+    Aggregate add(Transaction transaction, long receivedAtMillis) {
+        long second = receivedAtMillis / 1000;
+        Aggregate completed = null;
+        if (second != currentSecond) {
+            if (total.count > 0) {
+                completed = new Aggregate(currentSecond, total, bySymbol);
+            }
+            currentSecond = second;
+            total = new SymbolTotals();
+            bySymbol = new HashMap<>();
+        }
+        double value = transaction.getTotalValue().doubleValue();
+        total.add(value);
+        bySymbol.computeIfAbsent(transaction.getSymbol(), k -> new SymbolTotals()).add(value);
+        return completed;
+    }
+
+    static class SymbolTotals {
+        long count;
+        double notional;
+
+        void add(double value) {
+            count++;
+            notional += value;
+        }
+    }
+
+    record Aggregate(long epochSecond, SymbolTotals total, Map<String, SymbolTotals> bySymbol) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.frauddetection.ui;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps repeated strings (account IDs, symbols) to small int codes so the
+ * history columns store an int per row instead of a reference. Codes are
+ * reference-counted by the rows using them: when the last such row is
+ * evicted the string is dropped and its code reused, so the dictionary
+ * never holds more strings than the buffer has rows.
+ */
+class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+    private int[] refCounts = new int[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private int nextCode;
+
+    // The value's code, counting one more row that uses it
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = freeCount > 0 ? freeCodes[--freeCount] : newCode();
+            codes.put(value, code);
+            values[code] = value;
+        }
+        refCounts[code]++;
+        return code;
+    }
+
+    // A row using the code was evicted; the last one frees the code
+    void release(int code) {
+        if (--refCounts[code] == 0) {
+            codes.remove(values[code]);
+            values[code] = null;
+            if (freeCount == freeCodes.length) {
+                freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+            }
+            freeCodes[freeCount++] = code;
+        }
+    }
+
+    // -1 if the value is not in use
+    int lookup(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private int newCode() {
+        if (nextCode == values.length) {
+            values = Arrays.copyOf(values, nextCode * 2);
+            refCounts = Arrays.copyOf(refCounts, nextCode * 2);
+        }
+        return nextCode++;
+    }
+}
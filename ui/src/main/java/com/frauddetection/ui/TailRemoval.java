@@ -0,0 +1,81 @@
+package com.frauddetection.ui;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Change event for rows evicted from the tail of a history list, fired
+ * before their slots are overwritten. {@link #getRemoved} is a view that
+ * reads a row only when a listener asks for it. The view is valid only
+ * during the listener call, which is all JavaFX listeners rely on. (The
+ * builder behind {@code nextRemove} reads every removed element up front.)
+ */
+class TailRemoval<E> extends ListChangeListener.Change<E> {
+
+    private final int from;
+    private final List<E> removed;
+    private boolean started;
+
+    /**
+     * @param from index of the first removed row, which is also the list's size after removal
+     * @param firstSequence sequence number of the newest evicted row; older ones follow
+     * @param count number of evicted rows
+     * @param row reads an evicted row by sequence number while its slot is still intact
+     */
+    TailRemoval(ObservableList<E> list, int from, long firstSequence, int count, LongFunction<E> row) {
+        super(list);
+        this.from = from;
+        this.removed = new AbstractList<>() {
+            @Override
+            public E get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + count);
+                }
+                return row.apply(firstSequence - index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public boolean next() {
+        if (started) {
+            return false;
+        }
+        started = true;
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        started = false;
+    }
+
+    @Override
+    public int getFrom() {
+        return from;
+    }
+
+    @Override
+    public int getTo() {
+        return from;
+    }
+
+    @Override
+    public List<E> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    protected int[] getPermutation() {
+        return new int[0];
+    }
+}
@@ -0,0 +1,91 @@
+package com.frauddetection.ui;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of time buckets holding a sum, count and max per bucket.
+ * Memory does not grow with history; values older than the ring are dropped.
+ * Written by the consumer threads and read by the chart refresh.
+ */
+final class TimeBucketSeries {
+
+    enum Stat { RATE, MEAN, MAX }
+
+    private final long bucketMillis;
+    private final int capacity;
+    private final long[] bucketIds;
+    private final double[] sums;
+    private final long[] counts;
+    private final double[] maxes;
+    private long newestBucket = Long.MIN_VALUE;
+
+    TimeBucketSeries(long bucketMillis, int capacity) {
+        this.bucketMillis = bucketMillis;
+        this.capacity = capacity;
+        this.bucketIds = new long[capacity];
+        this.sums = new double[capacity];
+        this.counts = new long[capacity];
+        this.maxes = new double[capacity];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    synchronized void add(long timeMillis, double value) {
+        long bucket = Math.floorDiv(timeMillis, bucketMillis);
+        if (newestBucket != Long.MIN_VALUE && bucket <= newestBucket - capacity) {
+            return; // older than anything the ring still holds
+        }
+        int slot = (int) Math.floorMod(bucket, (long) capacity);
+        if (bucketIds[slot] != bucket) {
+            bucketIds[slot] = bucket;
+            sums[slot] = 0;
+            counts[slot] = 0;
+            maxes[slot] = Double.NEGATIVE_INFINITY;
+        }
+        sums[slot] += value;
+        counts[slot]++;
+        maxes[slot] = Math.max(maxes[slot], value);
+        newestBucket = Math.max(newestBucket, bucket);
+    }
+
+    /**
+     * Copies buckets in [fromMillis, toMillis) into xs (bucket start, epoch
+     * seconds) and ys and returns how many points were written. RATE is the
+     * bucket's sum per second, so counts can be added in batches. Empty buckets
+     * read as zero for RATE and are skipped for MEAN and MAX.
+     */
+    synchronized int read(long fromMillis, long toMillis, Stat stat, double[] xs, double[] ys) {
+        long last = Math.floorDiv(toMillis - 1, bucketMillis);
+        long first = Math.max(Math.floorDiv(fromMillis, bucketMillis), last - capacity + 1);
+        double bucketSeconds = bucketMillis / 1000.0;
+        int n = 0;
+        for (long bucket = first; bucket <= last && n < xs.length; bucket++) {
+            int slot = (int) Math.floorMod(bucket, (long) capacity);
+            boolean present = bucketIds[slot] == bucket && counts[slot] > 0;
+            if (!present && stat != Stat.RATE) {
+                continue;
+            }
+            xs[n] = bucket * bucketSeconds;
+            ys[n] = !present ? 0
+                    : switch (stat) {
+                        case RATE -> sums[slot] / bucketSeconds;
+                        case MEAN -> sums[slot] / counts[slot];
+                        case MAX -> maxes[slot];
+                    };
+            n++;
+        }
+        return n;
+    }
+
+    synchronized long count(long fromMillis, long toMillis) {
+        long total = 0;
+        long last = Math.floorDiv(toMillis - 1, bucketMillis);
+        long first = Math.max(Math.floorDiv(fromMillis, bucketMillis), last - capacity + 1);
+        for (long bucket = first; bucket <= last; bucket++) {
+            int slot = (int) Math.floorMod(bucket, (long) capacity);
+            if (bucketIds[slot] == bucket) {
+                total += counts[slot];
+            }
+        }
+        return total;
+    }
+}
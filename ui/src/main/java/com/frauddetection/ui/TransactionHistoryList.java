@@ -0,0 +1,221 @@
+package com.frauddetection.ui;
+
+import javafx.collections.ObservableListBase;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-only observable list over a fixed-capacity columnar ring buffer of
+ * transactions, newest first. Rows arrive pre-formatted and are stored as
+ * fixed-width byte columns and dictionary codes;
+ * {@link FraudDetectionApp.TransactionDisplayModel} objects are only
+ * re-created (without any formatting) when the table asks for a visible row. Appending a batch costs
+ * O(batch), whatever the history size. The heap footprint is fixed by the
+ * capacity: the dictionaries only hold strings that rows still in the
+ * buffer use.
+ * <p>
+ * Account and symbol indexes are maintained as rows arrive and leave, and
+ * {@link #query} can run on any thread. Per-second aggregate rows are kept
+ * out of the indexes and never match a query. Everything else is FX-thread
+ * only.
+ */
+public class TransactionHistoryList extends ObservableListBase<FraudDetectionApp.TransactionDisplayModel> {
+
+    private static final int TIME_BYTES = 8;
+    private static final int ID_BYTES = 32;
+    private static final int QUANTITY_BYTES = 20;
+    private static final int PRICE_BYTES = 20;
+    private static final int TOTAL_BYTES = 28;
+    private static final String[] SIDES = { "BUY", "SELL", "" };
+    private static final byte AGGREGATE_SIDE = 2;
+    private static final int CACHE_SIZE = 256; // power of two; covers a screenful of rows
+
+    private final int capacity;
+    private final long[] timestamps; // local date-time as epoch seconds
+    private final FixedWidthStrings times;
+    private final FixedWidthStrings transactionIds;
+    private final int[] accountCodes;
+    private final int[] symbolCodes;
+    private final byte[] sides; // 0 BUY, 1 SELL, 2 none (aggregate rows)
+    private final FixedWidthStrings quantities;
+    private final FixedWidthStrings prices;
+    private final FixedWidthStrings totals;
+
+    private final StringDictionary accounts = new StringDictionary();
+    private final StringDictionary symbols = new StringDictionary();
+    private final KeyIndex byAccount = new KeyIndex();
+    private final KeyIndex bySymbol = new KeyIndex();
+
+    // Writes happen on the FX thread; queries from other threads take the read lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Small direct-mapped cache of materialized rows, keyed by sequence number
+    private final FraudDetectionApp.TransactionDisplayModel[] cache =
+            new FraudDetectionApp.TransactionDisplayModel[CACHE_SIZE];
+    private final long[] cacheSequences = new long[CACHE_SIZE];
+
+    private long nextSequence; // sequence number of the next appended row
+    private int size;
+
+    public TransactionHistoryList(int capacity) {
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.times = new FixedWidthStrings(capacity, TIME_BYTES);
+        this.transactionIds = new FixedWidthStrings(capacity, ID_BYTES);
+        this.accountCodes = new int[capacity];
+        this.symbolCodes = new int[capacity];
+        this.sides = new byte[capacity];
+        this.quantities = new FixedWidthStrings(capacity, QUANTITY_BYTES);
+        this.prices = new FixedWidthStrings(capacity, PRICE_BYTES);
+        this.totals = new FixedWidthStrings(capacity, TOTAL_BYTES);
+        Arrays.fill(cacheSequences, -1L);
+    }
+
+    /**
+     * Appends rows in arrival order (oldest first); the last one becomes
+     * row 0. Evicts the oldest rows once the buffer is full. Evictions and
+     * additions are two separate change events.
+     */
+    public void append(List<FraudDetectionApp.TransactionDisplayModel> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int added = Math.min(batch.size(), capacity);
+        int evicted = Math.max(0, size + added - capacity);
+
+        if (evicted > 0) {
+            // Announce evictions while their slots are intact; a row is only materialized if a listener reads it
+            long newestEvicted = nextSequence - 1 - (size - evicted);
+            lock.writeLock().lock();
+            try {
+                size -= evicted;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            fireChange(new TailRemoval<>(this, size, newestEvicted, evicted,
+                    sequence -> materialize(slot(sequence))));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = batch.size() - added; i < batch.size(); i++) {
+                write(nextSequence++, batch.get(i));
+            }
+            size += added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        beginChange();
+        nextAdd(0, added);
+        endChange();
+    }
+
+    @Override
+    public FraudDetectionApp.TransactionDisplayModel get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return getBySequence(nextSequence - 1 - index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getTotalAppended() {
+        return nextSequence;
+    }
+
+    /**
+     * Sequence numbers of the rows matching the filter, newest first. Safe to
+     * call off the FX thread; the severity field is ignored.
+     */
+    public long[] query(HistoryFilter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LongDeque> indexLists = new ArrayList<>(2);
+            if (filter.accountId() != null) {
+                indexLists.add(byAccount.rows(accounts.lookup(filter.accountId())));
+            }
+            if (filter.symbol() != null) {
+                indexLists.add(bySymbol.rows(symbols.lookup(filter.symbol())));
+            }
+            long fromSeconds = filter.from() != null ? filter.from().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            return HistoryQueries.select(indexLists, nextSequence - size, nextSequence,
+                    sequence -> sides[slot(sequence)] != AGGREGATE_SIDE && timestamps[slot(sequence)] >= fromSeconds,
+                    limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Null once the row has been evicted
+    FraudDetectionApp.TransactionDisplayModel getBySequence(long sequence) {
+        if (sequence < nextSequence - size || sequence >= nextSequence) {
+            return null;
+        }
+        int cacheSlot = (int) (sequence & (CACHE_SIZE - 1));
+        if (cacheSequences[cacheSlot] == sequence) {
+            return cache[cacheSlot];
+        }
+        FraudDetectionApp.TransactionDisplayModel row = materialize(slot(sequence));
+        cache[cacheSlot] = row;
+        cacheSequences[cacheSlot] = sequence;
+        return row;
+    }
+
+    private void write(long sequence, FraudDetectionApp.TransactionDisplayModel row) {
+        int slot = slot(sequence);
+        if (sequence >= capacity) {
+            if (sides[slot] != AGGREGATE_SIDE) {
+                byAccount.evict(accountCodes[slot], sequence - capacity);
+                bySymbol.evict(symbolCodes[slot], sequence - capacity);
+            }
+            accounts.release(accountCodes[slot]);
+            symbols.release(symbolCodes[slot]);
+        }
+        timestamps[slot] = row.timestampSeconds();
+        times.set(slot, row.time());
+        transactionIds.set(slot, row.transactionId());
+        accountCodes[slot] = accounts.encode(row.accountId());
+        symbolCodes[slot] = symbols.encode(row.symbol());
+        sides[slot] = row.isAggregate() ? AGGREGATE_SIDE : switch (row.side()) {
+            case "BUY" -> 0;
+            case "SELL" -> 1;
+            default -> AGGREGATE_SIDE;
+        };
+        quantities.set(slot, row.quantity());
+        prices.set(slot, row.price());
+        totals.set(slot, row.totalValue());
+        if (sides[slot] != AGGREGATE_SIDE) {
+            byAccount.add(accountCodes[slot], sequence);
+            bySymbol.add(symbolCodes[slot], sequence);
+        }
+        cacheSequences[(int) (sequence & (CACHE_SIZE - 1))] = -1L;
+    }
+
+    private FraudDetectionApp.TransactionDisplayModel materialize(int slot) {
+        return new FraudDetectionApp.TransactionDisplayModel(
+                times.get(slot),
+                transactionIds.get(slot),
+                accounts.decode(accountCodes[slot]),
+                symbols.decode(symbolCodes[slot]),
+                SIDES[sides[slot]],
+                quantities.get(slot),
+                prices.get(slot),
+                totals.get(slot),
+                timestamps[slot]);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}